@@ -0,0 +1,76 @@
+package com.swmansion.gesturehandler.core
+
+import com.facebook.react.bridge.UiThreadUtil
+import java.util.concurrent.ConcurrentLinkedQueue
+
+/**
+ * Object pool for objects obtained on the UI thread which may be released on other threads, e.g.
+ * events disposed after being dispatched to JS.
+ *
+ * Acquiring and releasing on the UI thread doesn't take any locks. Objects released on other threads
+ * are put on a lock-free queue and moved to the pool the next time it runs out of objects on the UI
+ * thread.
+ *
+ * The pool starts with `initialCapacity` and grows by one every time an object is requested while it's
+ * empty, up to `maxCapacity`, so it settles at the number of objects in use at the same time.
+ */
+class AdaptivePool<T : Any>(initialCapacity: Int, maxCapacity: Int) {
+  private val pooled = ArrayList<T>(initialCapacity)
+  private val released = ConcurrentLinkedQueue<T>()
+
+  /**
+   * Upper bound of the capacity, may be changed to tune the pool for the app.
+   */
+  @Volatile
+  var maxCapacity = maxCapacity
+
+  @Volatile
+  var capacity = initialCapacity
+    private set
+
+  // Counters for diagnostics, updated only on the UI thread.
+  @Volatile
+  var hits = 0L
+    private set
+
+  @Volatile
+  var misses = 0L
+    private set
+
+  fun acquire(): T? {
+    if (!UiThreadUtil.isOnUiThread()) {
+      return released.poll()
+    }
+
+    if (pooled.isEmpty()) {
+      moveReleasedToPool()
+    }
+
+    if (pooled.isEmpty()) {
+      misses++
+      if (capacity < maxCapacity) {
+        capacity++
+      }
+      return null
+    }
+
+    hits++
+    return pooled.removeAt(pooled.lastIndex)
+  }
+
+  fun release(instance: T) {
+    if (!UiThreadUtil.isOnUiThread()) {
+      released.offer(instance)
+    } else if (pooled.size < capacity) {
+      pooled.add(instance)
+    }
+  }
+
+  private fun moveReleasedToPool() {
+    while (pooled.size < capacity) {
+      pooled.add(released.poll() ?: return)
+    }
+    // Drop objects that don't fit, so that the queue doesn't grow when the capacity is exceeded.
+    released.clear()
+  }
+}
@@ -0,0 +1,73 @@
+package com.swmansion.gesturehandler.core
+
+import android.view.MotionEvent
+import android.view.View
+
+/**
+ * Copies of a single source event made while delivering it to gesture handlers. Handlers attached
+ * to the same coordinate view share one transformed event and handlers tracking the same pointers
+ * share one adapted event, instead of each of them obtaining its own copies.
+ *
+ * All events held by the cache are owned by it and get recycled in `clear`, which the orchestrator
+ * calls once the source event has been delivered to every handler.
+ */
+class DeliveredEventsCache(
+  private val stats: DeliveryStats,
+  private val transform: (View?, MotionEvent) -> MotionEvent,
+) {
+  private val transformedEventViews = arrayListOf<View?>()
+  private val transformedEvents = arrayListOf<MotionEvent>()
+
+  private val adaptedEventOrigins = arrayListOf<MotionEvent>()
+  private val adaptedEventPointers = arrayListOf<IntArray>()
+  private val adaptedEvents = arrayListOf<MotionEvent>()
+  private val pointersPool = arrayListOf<IntArray>()
+
+  fun obtainTransformedEvent(view: View?, sourceEvent: MotionEvent): MotionEvent {
+    for (i in transformedEventViews.indices) {
+      if (transformedEventViews[i] === view) {
+        return transformedEvents[i]
+      }
+    }
+
+    val event = transform(view, stats.obtain(sourceEvent))
+    transformedEventViews.add(view)
+    transformedEvents.add(event)
+    return event
+  }
+
+  fun getAdaptedEvent(event: MotionEvent, trackedPointerIDs: IntArray): MotionEvent? {
+    for (i in adaptedEvents.indices) {
+      if (adaptedEventOrigins[i] === event && adaptedEventPointers[i].contentEquals(trackedPointerIDs)) {
+        return adaptedEvents[i]
+      }
+    }
+    return null
+  }
+
+  fun putAdaptedEvent(event: MotionEvent, trackedPointerIDs: IntArray, adaptedEvent: MotionEvent) {
+    val pointers = pointersPool.removeLastOrNull()?.takeIf { it.size == trackedPointerIDs.size }
+      ?: IntArray(trackedPointerIDs.size)
+    trackedPointerIDs.copyInto(pointers)
+
+    adaptedEventOrigins.add(event)
+    adaptedEventPointers.add(pointers)
+    adaptedEvents.add(adaptedEvent)
+  }
+
+  fun clear() {
+    for (event in transformedEvents) {
+      event.recycle()
+    }
+    for (event in adaptedEvents) {
+      event.recycle()
+    }
+
+    pointersPool.addAll(adaptedEventPointers)
+    transformedEventViews.clear()
+    transformedEvents.clear()
+    adaptedEventOrigins.clear()
+    adaptedEventPointers.clear()
+    adaptedEvents.clear()
+  }
+}
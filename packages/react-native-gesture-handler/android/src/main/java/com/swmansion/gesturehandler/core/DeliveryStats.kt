@@ -0,0 +1,48 @@
+package com.swmansion.gesturehandler.core
+
+import android.view.MotionEvent
+
+/**
+ * Counts `MotionEvent` copies made by the orchestrator and its handlers while delivering events.
+ * Meant for diagnostics, e.g. to verify how many events are obtained for a single frame of input.
+ */
+class DeliveryStats {
+  /**
+   * Number of source events delivered to handlers since the last `reset`.
+   */
+  var deliveredEventsCount = 0L
+    private set
+
+  /**
+   * Number of `MotionEvent` copies obtained since the last `reset`.
+   */
+  var obtainedEventsCount = 0L
+    private set
+
+  /**
+   * Number of `MotionEvent` copies obtained while delivering the most recent source event.
+   */
+  var lastEventObtainedEventsCount = 0
+    private set
+
+  fun reset() {
+    deliveredEventsCount = 0L
+    obtainedEventsCount = 0L
+    lastEventObtainedEventsCount = 0
+  }
+
+  fun onDeliveryStarted() {
+    deliveredEventsCount++
+    lastEventObtainedEventsCount = 0
+  }
+
+  fun onEventObtained() {
+    obtainedEventsCount++
+    lastEventObtainedEventsCount++
+  }
+
+  fun obtain(event: MotionEvent): MotionEvent {
+    onEventObtained()
+    return MotionEvent.obtain(event)
+  }
+}
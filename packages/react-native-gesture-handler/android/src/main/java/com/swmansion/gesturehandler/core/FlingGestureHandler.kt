@@ -1,71 +1,115 @@
 package com.swmansion.gesturehandler.core
 
 import android.content.Context
-import android.os.Handler
-import android.os.Looper
 import android.view.MotionEvent
-import android.view.VelocityTracker
 import com.facebook.react.bridge.ReadableMap
 import com.swmansion.gesturehandler.react.events.eventbuilders.FlingGestureHandlerEventDataBuilder
+import kotlin.math.hypot
+import kotlin.math.sqrt
 
 class FlingGestureHandler : GestureHandler() {
   var numberOfPointersRequired = DEFAULT_NUMBER_OF_TOUCHES_REQUIRED
   var direction = DEFAULT_DIRECTION
+    set(value) {
+      field = value
+      updateDirectionCones()
+    }
+
+  /**
+   * Direction the fling was recognized in, one of `DIRECTION_*` or `DiagonalDirections.DIRECTION_*`
+   */
+  var matchedDirection = 0
+    private set
+
+  /**
+   * in pixels per second
+   */
+  var velocity = 0f
+    private set
 
   private val maxDurationMs = DEFAULT_MAX_DURATION_MS
   private val minVelocity = DEFAULT_MIN_VELOCITY
-  private val handler = Handler(Looper.getMainLooper())
   private var maxNumberOfPointersSimultaneously = 0
-  private val failDelayed = Runnable { fail() }
-  private var velocityTracker: VelocityTracker? = null
+  private val velocityEstimator = VelocityEstimator()
+
+  // Indices into the `CONE_*` tables of the cones enabled by `direction`.
+  private val enabledCones = IntArray(CONE_DIRECTIONS.size)
+  private var enabledConesCount = 0
+
+  var velocityStrategy: VelocityEstimator.Strategy
+    get() = velocityEstimator.strategy
+    set(value) {
+      velocityEstimator.strategy = value
+    }
+
+  init {
+    updateDirectionCones()
+  }
 
   override fun resetConfig() {
     super.resetConfig()
     numberOfPointersRequired = DEFAULT_NUMBER_OF_TOUCHES_REQUIRED
     direction = DEFAULT_DIRECTION
+    velocityStrategy = VelocityEstimator.Strategy.DEFAULT
+  }
+
+  private fun updateDirectionCones() {
+    enabledConesCount = 0
+
+    for (i in CONE_DIRECTIONS.indices) {
+      if ((direction and CONE_DIRECTIONS[i]) == CONE_DIRECTIONS[i]) {
+        enabledCones[enabledConesCount++] = i
+      }
+    }
+  }
+
+  /**
+   * Returns the enabled direction whose cone contains the velocity best, or 0 if there is none.
+   */
+  private fun findAlignedDirection(velocityX: Double, velocityY: Double, magnitude: Double): Int {
+    var bestDirection = 0
+    var bestSimilarity = 0.0
+
+    for (i in 0 until enabledConesCount) {
+      val cone = enabledCones[i]
+      val similarity = (velocityX * CONE_UNIT_X[cone] + velocityY * CONE_UNIT_Y[cone]) / magnitude
+
+      if (similarity > CONE_MAX_DEVIATIONS[cone] && similarity > bestSimilarity) {
+        bestDirection = CONE_DIRECTIONS[cone]
+        bestSimilarity = similarity
+      }
+    }
+
+    return bestDirection
   }
 
   private fun startFling(event: MotionEvent) {
-    velocityTracker = VelocityTracker.obtain()
+    velocityEstimator.reset()
+    matchedDirection = 0
+    velocity = 0f
     begin()
     maxNumberOfPointersSimultaneously = 1
-    handler.removeCallbacksAndMessages(null)
-    handler.postDelayed(failDelayed, maxDurationMs)
+    scheduleTimeout(maxDurationMs)
   }
 
   private fun tryEndFling(event: MotionEvent): Boolean {
-    addVelocityMovement(velocityTracker, event)
-
-    val velocityVector = Vector.fromVelocity(velocityTracker!!)
+    velocityEstimator.addMovement(event)
+    velocityEstimator.computeVelocity()
 
-    fun getVelocityAlignment(direction: Int, maxDeviationCosine: Double): Boolean = (
-      (this.direction and direction) == direction &&
-        velocityVector.isSimilar(Vector.fromDirection(direction), maxDeviationCosine)
-      )
+    val velocityX = velocityEstimator.velocityX.toDouble()
+    val velocityY = velocityEstimator.velocityY.toDouble()
+    val magnitude = hypot(velocityX, velocityY)
 
-    val axialAlignmentsList = arrayOf(
-      DIRECTION_LEFT,
-      DIRECTION_RIGHT,
-      DIRECTION_UP,
-      DIRECTION_DOWN,
-    ).map { direction -> getVelocityAlignment(direction, MAX_AXIAL_DEVIATION) }
-
-    val diagonalAlignmentsList = arrayOf(
-      DiagonalDirections.DIRECTION_RIGHT_UP,
-      DiagonalDirections.DIRECTION_RIGHT_DOWN,
-      DiagonalDirections.DIRECTION_LEFT_UP,
-      DiagonalDirections.DIRECTION_LEFT_DOWN,
-    ).map { direction -> getVelocityAlignment(direction, MAX_DIAGONAL_DEVIATION) }
+    if (maxNumberOfPointersSimultaneously != numberOfPointersRequired || magnitude <= minVelocity) {
+      return false
+    }
 
-    val isAligned = axialAlignmentsList.any { it } or diagonalAlignmentsList.any { it }
-    val isFast = velocityVector.magnitude > this.minVelocity
+    val alignedDirection = findAlignedDirection(velocityX, velocityY, magnitude)
 
-    return if (
-      maxNumberOfPointersSimultaneously == numberOfPointersRequired &&
-      isAligned &&
-      isFast
-    ) {
-      handler.removeCallbacksAndMessages(null)
+    return if (alignedDirection != 0) {
+      matchedDirection = alignedDirection
+      velocity = magnitude.toFloat()
+      cancelTimeout()
       activate()
       true
     } else {
@@ -104,22 +148,16 @@ class FlingGestureHandler : GestureHandler() {
     }
   }
 
-  override fun onCancel() {
-    handler.removeCallbacksAndMessages(null)
+  override fun onTimeout() {
+    fail()
   }
 
-  override fun onReset() {
-    velocityTracker?.recycle()
-    velocityTracker = null
-    handler.removeCallbacksAndMessages(null)
+  override fun onCancel() {
+    cancelTimeout()
   }
 
-  private fun addVelocityMovement(tracker: VelocityTracker?, event: MotionEvent) {
-    val offsetX = event.rawX - event.x
-    val offsetY = event.rawY - event.y
-    event.offsetLocation(offsetX, offsetY)
-    tracker!!.addMovement(event)
-    event.offsetLocation(-offsetX, -offsetY)
+  override fun onReset() {
+    cancelTimeout()
   }
 
   class Factory : GestureHandler.Factory<FlingGestureHandler>() {
@@ -137,6 +175,9 @@ class FlingGestureHandler : GestureHandler() {
       if (config.hasKey(KEY_DIRECTION)) {
         handler.direction = config.getInt(KEY_DIRECTION)
       }
+      if (config.hasKey(KEY_VELOCITY_STRATEGY)) {
+        handler.velocityStrategy = VelocityEstimator.Strategy.fromConfigName(config.getString(KEY_VELOCITY_STRATEGY))
+      }
     }
 
     override fun createEventBuilder(handler: FlingGestureHandler) = FlingGestureHandlerEventDataBuilder(handler)
@@ -144,6 +185,7 @@ class FlingGestureHandler : GestureHandler() {
     companion object {
       private const val KEY_NUMBER_OF_POINTERS = "numberOfPointers"
       private const val KEY_DIRECTION = "direction"
+      private const val KEY_VELOCITY_STRATEGY = "velocityStrategy"
     }
   }
 
@@ -153,10 +195,34 @@ class FlingGestureHandler : GestureHandler() {
     private const val DEFAULT_ALIGNMENT_CONE: Double = 30.0
     private const val DEFAULT_DIRECTION = DIRECTION_RIGHT
     private const val DEFAULT_NUMBER_OF_TOUCHES_REQUIRED = 1
+    private val SQRT_HALF = sqrt(0.5)
 
     private val MAX_AXIAL_DEVIATION: Double =
       GestureUtils.coneToDeviation(DEFAULT_ALIGNMENT_CONE)
     private val MAX_DIAGONAL_DEVIATION: Double =
       GestureUtils.coneToDeviation(90 - DEFAULT_ALIGNMENT_CONE)
+
+    private val CONE_DIRECTIONS = intArrayOf(
+      DIRECTION_LEFT,
+      DIRECTION_RIGHT,
+      DIRECTION_UP,
+      DIRECTION_DOWN,
+      DiagonalDirections.DIRECTION_RIGHT_UP,
+      DiagonalDirections.DIRECTION_RIGHT_DOWN,
+      DiagonalDirections.DIRECTION_LEFT_UP,
+      DiagonalDirections.DIRECTION_LEFT_DOWN,
+    )
+    private val CONE_UNIT_X = doubleArrayOf(-1.0, 1.0, 0.0, 0.0, SQRT_HALF, SQRT_HALF, -SQRT_HALF, -SQRT_HALF)
+    private val CONE_UNIT_Y = doubleArrayOf(0.0, 0.0, -1.0, 1.0, -SQRT_HALF, SQRT_HALF, -SQRT_HALF, SQRT_HALF)
+    private val CONE_MAX_DEVIATIONS = doubleArrayOf(
+      MAX_AXIAL_DEVIATION,
+      MAX_AXIAL_DEVIATION,
+      MAX_AXIAL_DEVIATION,
+      MAX_AXIAL_DEVIATION,
+      MAX_DIAGONAL_DEVIATION,
+      MAX_DIAGONAL_DEVIATION,
+      MAX_DIAGONAL_DEVIATION,
+      MAX_DIAGONAL_DEVIATION,
+    )
   }
 }
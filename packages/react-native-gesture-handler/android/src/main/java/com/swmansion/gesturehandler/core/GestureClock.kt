@@ -0,0 +1,15 @@
+package com.swmansion.gesturehandler.core
+
+import android.os.SystemClock
+
+/**
+ * Source of time used for gesture deadlines. Has to use the same time base as `MotionEvent.getEventTime`,
+ * which is `SystemClock.uptimeMillis`, and may be replaced e.g. when replaying recorded events in tests.
+ */
+fun interface GestureClock {
+  fun uptimeMillis(): Long
+
+  companion object {
+    val SYSTEM = GestureClock { SystemClock.uptimeMillis() }
+  }
+}
@@ -2,15 +2,16 @@ package com.swmansion.gesturehandler.core
 
 import android.content.Context
 import android.graphics.PointF
+import android.graphics.RectF
 import android.view.MotionEvent
 import android.view.MotionEvent.PointerCoords
 import android.view.MotionEvent.PointerProperties
 import android.view.View
-import com.facebook.react.bridge.Arguments
 import com.facebook.react.bridge.ReadableMap
 import com.facebook.react.bridge.ReadableType
 import com.facebook.react.bridge.UiThreadUtil
 import com.facebook.react.bridge.WritableArray
+import com.facebook.react.uimanager.DisplayMetricsHolder
 import com.facebook.react.uimanager.PixelUtil
 import com.swmansion.gesturehandler.BuildConfig
 import com.swmansion.gesturehandler.RNSVGHitTester
@@ -22,6 +23,7 @@ import com.swmansion.gesturehandler.react.getPointerType
 import com.swmansion.gesturehandler.react.isHoverAction
 import java.lang.IllegalStateException
 import java.util.*
+import java.util.concurrent.atomic.AtomicInteger
 
 open class GestureHandler {
   private val trackedPointerIDs = IntArray(MAX_POINTERS_COUNT)
@@ -88,16 +90,26 @@ open class GestureHandler {
   var actionType = 0
 
   var forceReinitializeDuringOnHandle = false
-  var changedTouchesPayload: WritableArray? = null
-    private set
-  var allTouchesPayload: WritableArray? = null
-    private set
   var touchEventType = RNGestureHandlerTouchEvent.EVENT_UNDETERMINED
     private set
   var trackedPointersCount = 0
     private set
-  private val trackedPointers: Array<PointerData?> = Array(MAX_POINTERS_COUNT) { null }
+
+  // Last known positions of the pointers reported in touch events, indexed by pointer id.
+  private val isPointerDataTracked = BooleanArray(MAX_POINTERS_COUNT)
+  private val pointerX = FloatArray(MAX_POINTERS_COUNT)
+  private val pointerY = FloatArray(MAX_POINTERS_COUNT)
+  private val pointerAbsoluteX = FloatArray(MAX_POINTERS_COUNT)
+  private val pointerAbsoluteY = FloatArray(MAX_POINTERS_COUNT)
+
+  // Payloads of the touch event being dispatched, materialized only once it's consumed.
+  private val changedTouches = TouchFrameBuffer(MAX_POINTERS_COUNT)
+  private val allTouches = TouchFrameBuffer(MAX_POINTERS_COUNT)
   var needsPointerData = false
+
+  // Events the JS side has callbacks for, see `EVENTS_MASK_*`. Touch events are controlled
+  // by `needsPointerData` instead.
+  var eventsMask = EVENTS_MASK_ALL
   var dispatchesAnimatedEvents = false
   var dispatchesReanimatedEvents = false
   var cancelsJSResponder = true
@@ -118,11 +130,29 @@ open class GestureHandler {
     protected set
   protected var shouldCancelWhenOutside = false
   protected var orchestrator: GestureHandlerOrchestrator? = null
+  private var timerWheel: GestureHandlerTimerWheel? = null
+  private var ownMultiTouchTransform: MultiTouchTransform? = null
+
+  // Time of the event being handled when deadlines are evaluated on event timestamps, see
+  // `GestureHandlerOrchestrator.isEventTimeDeadlinesEnabled`.
+  private var handledEventTime = NO_EVENT_TIME
+
   var onTouchEventListener: OnTouchEventListener? = null
   private var interactionController: GestureHandlerInteractionController? = null
   var pointerType: Int = POINTER_TYPE_OTHER
     private set
 
+  // Captured from `DisplayMetricsHolder`, which `PixelUtil` converts with as well, when the handler is
+  // created, attached to a view and prepared, so that event data is converted to DIPs without looking
+  // up display metrics for every value. Events of handlers driven by detectors or by manual state
+  // changes may be sent without `prepare` being called.
+  var density = 1f
+    private set
+
+  fun updateDensity() {
+    density = DisplayMetricsHolder.getWindowDisplayMetrics().density
+  }
+
   protected var mouseButton = 0
 
   // properties set and accessed only by the orchestrator
@@ -130,6 +160,10 @@ open class GestureHandler {
   var isActive = false
   var isAwaiting = false
   var shouldResetProgress = false
+  var relationSlot = -1
+  var timerSlot = -1
+  val waitsForSlots = BitSet()
+  val awaitedBySlots = BitSet()
 
   /**
    * Whether the handler represents a continuous gesture rather than a discrete one.
@@ -137,15 +171,19 @@ open class GestureHandler {
   open val isContinuous: Boolean = false
 
   open fun dispatchStateChange(newState: Int, prevState: Int) {
-    onTouchEventListener?.onStateChange(this, newState, prevState)
+    if (eventsMask and EVENTS_MASK_STATE_CHANGE != 0) {
+      onTouchEventListener?.onStateChange(this, newState, prevState)
+    }
   }
 
   open fun dispatchHandlerUpdate(event: MotionEvent) {
-    onTouchEventListener?.onHandlerUpdate(this, event)
+    if (eventsMask and EVENTS_MASK_UPDATE != 0) {
+      onTouchEventListener?.onHandlerUpdate(this, event)
+    }
   }
 
   open fun dispatchTouchEvent() {
-    if (changedTouchesPayload != null) {
+    if (!changedTouches.isEmpty()) {
       onTouchEventListener?.onTouchEvent(this)
     }
   }
@@ -153,6 +191,7 @@ open class GestureHandler {
   open fun resetConfig() {
     testID = null
     needsPointerData = DEFAULT_NEEDS_POINTER_DATA
+    eventsMask = EVENTS_MASK_ALL
     manualActivation = DEFAULT_MANUAL_ACTIVATION
     shouldCancelWhenOutside = DEFAULT_SHOULD_CANCEL_WHEN_OUTSIDE
     isEnabled = DEFAULT_IS_ENABLED
@@ -176,6 +215,7 @@ open class GestureHandler {
     if (hitSlop == null) {
       hitSlop = FloatArray(6)
     }
+    hitAreaGeneration++
     hitSlop!![HIT_SLOP_LEFT_IDX] = leftPad
     hitSlop!![HIT_SLOP_TOP_IDX] = topPad
     hitSlop!![HIT_SLOP_RIGHT_IDX] = rightPad
@@ -186,6 +226,9 @@ open class GestureHandler {
 
   fun setHitSlop(padding: Float?) {
     if (padding == null) {
+      if (hitSlop != null) {
+        hitAreaGeneration++
+      }
       hitSlop = DEFAULT_HIT_SLOP
     } else {
       setHitSlop(padding, padding, padding, padding, HIT_SLOP_NONE, HIT_SLOP_NONE)
@@ -194,6 +237,7 @@ open class GestureHandler {
 
   fun setInteractionController(controller: GestureHandlerInteractionController?) {
     interactionController = controller
+    invalidateRelations()
   }
 
   fun prepare(view: View?, orchestrator: GestureHandlerOrchestrator?) {
@@ -205,6 +249,7 @@ open class GestureHandler {
     state = STATE_UNDETERMINED
     this.view = view
     this.orchestrator = orchestrator
+    updateDensity()
 
     val content = view?.context.findActivity()?.findViewById<View>(android.R.id.content)
     if (content != null) {
@@ -255,7 +300,7 @@ open class GestureHandler {
     trackedPointersIDsCount--
   }
 
-  private fun isTrackingPointer(pointerId: Int) = trackedPointerIDs[pointerId] != -1
+  fun isTrackingPointer(pointerId: Int) = trackedPointerIDs[pointerId] != -1
 
   private fun needAdapt(event: MotionEvent): Boolean {
     if (event.pointerCount != trackedPointersIDsCount) {
@@ -332,6 +377,7 @@ open class GestureHandler {
 
     val result: MotionEvent
     try {
+      orchestrator?.deliveryStats?.onEventObtained()
       result = MotionEvent.obtain(
         event.downTime,
         event.eventTime,
@@ -374,7 +420,27 @@ open class GestureHandler {
       e,
     )
 
-  fun handle(transformedEvent: MotionEvent, sourceEvent: MotionEvent) {
+  // Returns the adapted event from `eventsCache` if another handler tracking the same pointers has
+  // already adapted `event`, so that it's not copied more than once.
+  private fun adaptEvent(event: MotionEvent, eventsCache: DeliveredEventsCache?): MotionEvent {
+    if (eventsCache == null || !needAdapt(event)) {
+      return adaptEvent(event)
+    }
+
+    eventsCache.getAdaptedEvent(event, trackedPointerIDs)?.let { return it }
+
+    val result = adaptEvent(event)
+    eventsCache.putAdaptedEvent(event, trackedPointerIDs, result)
+    return result
+  }
+
+  fun handle(transformedEvent: MotionEvent, sourceEvent: MotionEvent) = handle(transformedEvent, sourceEvent, null)
+
+  /**
+   * When `eventsCache` is provided, adapted events are stored in it and recycled by its owner
+   * instead of right after the event has been handled.
+   */
+  fun handle(transformedEvent: MotionEvent, sourceEvent: MotionEvent, eventsCache: DeliveredEventsCache?) {
     if (!isEnabled ||
       state == STATE_CANCELLED ||
       state == STATE_FAILED ||
@@ -384,12 +450,24 @@ open class GestureHandler {
       return
     }
 
+    val isEventTimeDeadlinesEnabled = orchestrator?.isEventTimeDeadlinesEnabled == true
+    if (isEventTimeDeadlinesEnabled) {
+      // The deadline may have passed before the event was sent, even if the timer hasn't fired yet.
+      handledEventTime = sourceEvent.eventTime
+      timerWheel?.fireIfExpired(this, sourceEvent.eventTime)
+      handledEventTime = NO_EVENT_TIME
+
+      if (state == STATE_CANCELLED || state == STATE_FAILED || state == STATE_END) {
+        return
+      }
+    }
+
     // a workaround for https://github.com/software-mansion/react-native-gesture-handler/issues/1188
     val (adaptedTransformedEvent, adaptedSourceEvent) = if (BuildConfig.DEBUG) {
-      arrayOf(adaptEvent(transformedEvent), adaptEvent(sourceEvent))
+      arrayOf(adaptEvent(transformedEvent, eventsCache), adaptEvent(sourceEvent, eventsCache))
     } else {
       try {
-        arrayOf(adaptEvent(transformedEvent), adaptEvent(sourceEvent))
+        arrayOf(adaptEvent(transformedEvent, eventsCache), adaptEvent(sourceEvent, eventsCache))
       } catch (e: AdaptEventException) {
         fail()
         return
@@ -428,35 +506,52 @@ open class GestureHandler {
       setPointerType(sourceEvent)
     }
 
+    if (isEventTimeDeadlinesEnabled) {
+      handledEventTime = sourceEvent.eventTime
+    }
     if (sourceEvent.isHoverAction()) {
       onHandleHover(adaptedTransformedEvent, adaptedSourceEvent)
     } else {
       onHandle(adaptedTransformedEvent, adaptedSourceEvent)
     }
-    if (adaptedTransformedEvent != transformedEvent) {
-      adaptedTransformedEvent.recycle()
-    }
-    if (adaptedSourceEvent != sourceEvent) {
-      adaptedSourceEvent.recycle()
+    handledEventTime = NO_EVENT_TIME
+    if (eventsCache == null) {
+      if (adaptedTransformedEvent != transformedEvent) {
+        adaptedTransformedEvent.recycle()
+      }
+      if (adaptedSourceEvent != sourceEvent) {
+        adaptedSourceEvent.recycle()
+      }
     }
+    // Used only without an orchestrator, which otherwise invalidates its shared transform.
+    ownMultiTouchTransform?.invalidate()
+  }
+
+  private fun trackPointerData(
+    pointerId: Int,
+    index: Int,
+    event: MotionEvent,
+    sourceEvent: MotionEvent,
+    offsetX: Float,
+    offsetY: Float,
+  ) {
+    isPointerDataTracked[pointerId] = true
+    pointerX[pointerId] = event.getX(index)
+    pointerY[pointerId] = event.getY(index)
+    pointerAbsoluteX[pointerId] = sourceEvent.getX(index) + offsetX - windowOffset[0]
+    pointerAbsoluteY[pointerId] = sourceEvent.getY(index) + offsetY - windowOffset[1]
   }
 
   private fun dispatchTouchDownEvent(event: MotionEvent, sourceEvent: MotionEvent) {
-    changedTouchesPayload = null
+    changedTouches.clear()
     touchEventType = RNGestureHandlerTouchEvent.EVENT_TOUCH_DOWN
     val pointerId = event.getPointerId(event.actionIndex)
     val offsetX = sourceEvent.rawX - sourceEvent.x
     val offsetY = sourceEvent.rawY - sourceEvent.y
 
-    trackedPointers[pointerId] = PointerData(
-      pointerId,
-      event.getX(event.actionIndex),
-      event.getY(event.actionIndex),
-      sourceEvent.getX(event.actionIndex) + offsetX - windowOffset[0],
-      sourceEvent.getY(event.actionIndex) + offsetY - windowOffset[1],
-    )
+    trackPointerData(pointerId, event.actionIndex, event, sourceEvent, offsetX, offsetY)
     trackedPointersCount++
-    addChangedPointer(trackedPointers[pointerId]!!)
+    addChangedPointer(pointerId)
     extractAllPointersData()
 
     dispatchTouchEvent()
@@ -465,32 +560,26 @@ open class GestureHandler {
   private fun dispatchTouchUpEvent(event: MotionEvent, sourceEvent: MotionEvent) {
     val pointerId = event.getPointerId(event.actionIndex)
 
-    if (trackedPointers[pointerId] == null) {
+    if (!isPointerDataTracked[pointerId]) {
       return
     }
 
     extractAllPointersData()
-    changedTouchesPayload = null
+    changedTouches.clear()
     touchEventType = RNGestureHandlerTouchEvent.EVENT_TOUCH_UP
     val offsetX = sourceEvent.rawX - sourceEvent.x
     val offsetY = sourceEvent.rawY - sourceEvent.y
 
-    trackedPointers[pointerId] = PointerData(
-      pointerId,
-      event.getX(event.actionIndex),
-      event.getY(event.actionIndex),
-      sourceEvent.getX(event.actionIndex) + offsetX - windowOffset[0],
-      sourceEvent.getY(event.actionIndex) + offsetY - windowOffset[1],
-    )
-    addChangedPointer(trackedPointers[pointerId]!!)
-    trackedPointers[pointerId] = null
+    trackPointerData(pointerId, event.actionIndex, event, sourceEvent, offsetX, offsetY)
+    addChangedPointer(pointerId)
+    isPointerDataTracked[pointerId] = false
     trackedPointersCount--
 
     dispatchTouchEvent()
   }
 
   private fun dispatchTouchMoveEvent(event: MotionEvent, sourceEvent: MotionEvent) {
-    changedTouchesPayload = null
+    changedTouches.clear()
     touchEventType = RNGestureHandlerTouchEvent.EVENT_TOUCH_MOVE
     val offsetX = sourceEvent.rawX - sourceEvent.x
     val offsetY = sourceEvent.rawY - sourceEvent.y
@@ -498,15 +587,14 @@ open class GestureHandler {
 
     for (i in 0 until event.pointerCount) {
       val pointerId = event.getPointerId(i)
-      val pointer = trackedPointers[pointerId] ?: continue
+      if (!isPointerDataTracked[pointerId]) {
+        continue
+      }
 
-      if (pointer.x != event.getX(i) || pointer.y != event.getY(i)) {
-        pointer.x = event.getX(i)
-        pointer.y = event.getY(i)
-        pointer.absoluteX = sourceEvent.getX(i) + offsetX - windowOffset[0]
-        pointer.absoluteY = sourceEvent.getY(i) + offsetY - windowOffset[1]
+      if (pointerX[pointerId] != event.getX(i) || pointerY[pointerId] != event.getY(i)) {
+        trackPointerData(pointerId, i, event, sourceEvent, offsetX, offsetY)
 
-        addChangedPointer(pointer)
+        addChangedPointer(pointerId)
         pointersAdded++
       }
     }
@@ -537,65 +625,61 @@ open class GestureHandler {
   }
 
   private fun extractAllPointersData() {
-    allTouchesPayload = null
+    allTouches.clear()
 
-    for (pointerData in trackedPointers) {
-      if (pointerData != null) {
-        addPointerToAll(pointerData)
+    for (pointerId in isPointerDataTracked.indices) {
+      if (isPointerDataTracked[pointerId]) {
+        addPointerData(allTouches, pointerId)
       }
     }
   }
 
   private fun cancelPointers() {
     touchEventType = RNGestureHandlerTouchEvent.EVENT_TOUCH_CANCEL
-    changedTouchesPayload = null
+    changedTouches.clear()
     extractAllPointersData()
 
-    for (pointer in trackedPointers) {
-      pointer?.let {
-        addChangedPointer(it)
+    for (pointerId in isPointerDataTracked.indices) {
+      if (isPointerDataTracked[pointerId]) {
+        addChangedPointer(pointerId)
       }
     }
 
     trackedPointersCount = 0
-    trackedPointers.fill(null)
+    isPointerDataTracked.fill(false)
 
     dispatchTouchEvent()
   }
 
-  private fun addChangedPointer(pointerData: PointerData) {
-    if (changedTouchesPayload == null) {
-      changedTouchesPayload = Arguments.createArray()
-    }
+  private fun addChangedPointer(pointerId: Int) = addPointerData(changedTouches, pointerId)
 
-    changedTouchesPayload!!.pushMap(createPointerData(pointerData))
+  private fun addPointerData(buffer: TouchFrameBuffer, pointerId: Int) {
+    buffer.add(
+      pointerId,
+      pointerX[pointerId],
+      pointerY[pointerId],
+      pointerAbsoluteX[pointerId],
+      pointerAbsoluteY[pointerId],
+    )
   }
 
-  private fun addPointerToAll(pointerData: PointerData) {
-    if (allTouchesPayload == null) {
-      allTouchesPayload = Arguments.createArray()
+  fun consumeChangedTouchesPayload(): WritableArray? {
+    if (changedTouches.isEmpty()) {
+      return null
     }
 
-    allTouchesPayload!!.pushMap(createPointerData(pointerData))
-  }
-
-  private fun createPointerData(pointerData: PointerData) = Arguments.createMap().apply {
-    putInt("id", pointerData.pointerId)
-    putDouble("x", PixelUtil.toDIPFromPixel(pointerData.x).toDouble())
-    putDouble("y", PixelUtil.toDIPFromPixel(pointerData.y).toDouble())
-    putDouble("absoluteX", PixelUtil.toDIPFromPixel(pointerData.absoluteX).toDouble())
-    putDouble("absoluteY", PixelUtil.toDIPFromPixel(pointerData.absoluteY).toDouble())
-  }
-
-  fun consumeChangedTouchesPayload(): WritableArray? {
-    val result = changedTouchesPayload
-    changedTouchesPayload = null
+    val result = changedTouches.toWritableArray(density)
+    changedTouches.clear()
     return result
   }
 
   fun consumeAllTouchesPayload(): WritableArray? {
-    val result = allTouchesPayload
-    allTouchesPayload = null
+    if (allTouches.isEmpty()) {
+      return null
+    }
+
+    val result = allTouches.toWritableArray(density)
+    allTouches.clear()
     return result
   }
 
@@ -651,6 +735,13 @@ open class GestureHandler {
     }
   }
 
+  /**
+   * Whether `shouldRequireToWaitForFailure` depends on state that changes while handlers are recorded,
+   * e.g. the order of views, rather than only on the configured relations. The orchestrator doesn't
+   * cache such requirements.
+   */
+  open val hasDynamicFailureRequirements = false
+
   open fun shouldRequireToWaitForFailure(handler: GestureHandler): Boolean {
     if (handler === this) {
       return false
@@ -690,10 +781,20 @@ open class GestureHandler {
       return RNSVGHitTester.hitTest(view, posX, posY)
     }
 
+    val hitArea = tempHitArea
+    computeHitArea(view.width.toFloat(), view.height.toFloat(), hitArea)
+    return posX in hitArea.left..hitArea.right && posY in hitArea.top..hitArea.bottom
+  }
+
+  /**
+   * Computes the area (in the coordinate space of a view with the given dimensions) within which
+   * pointers are considered to be inside the handler, taking `hitSlop` into account.
+   */
+  fun computeHitArea(width: Float, height: Float, outArea: RectF) {
     var left = 0f
     var top = 0f
-    var right = view.width.toFloat()
-    var bottom = view.height.toFloat()
+    var right = width
+    var bottom = height
     hitSlop?.let { hitSlop ->
       val padLeft = hitSlop[HIT_SLOP_LEFT_IDX]
       val padTop = hitSlop[HIT_SLOP_TOP_IDX]
@@ -711,24 +812,24 @@ open class GestureHandler {
       if (hitSlopSet(padBottom)) {
         bottom += padBottom
       }
-      val width = hitSlop[HIT_SLOP_WIDTH_IDX]
-      val height = hitSlop[HIT_SLOP_HEIGHT_IDX]
-      if (hitSlopSet(width)) {
+      val slopWidth = hitSlop[HIT_SLOP_WIDTH_IDX]
+      val slopHeight = hitSlop[HIT_SLOP_HEIGHT_IDX]
+      if (hitSlopSet(slopWidth)) {
         if (!hitSlopSet(padLeft)) {
-          left = right - width
+          left = right - slopWidth
         } else if (!hitSlopSet(padRight)) {
-          right = left + width
+          right = left + slopWidth
         }
       }
-      if (hitSlopSet(height)) {
+      if (hitSlopSet(slopHeight)) {
         if (!hitSlopSet(padTop)) {
-          top = bottom - height
+          top = bottom - slopHeight
         } else if (!hitSlopSet(padBottom)) {
-          bottom = top + height
+          bottom = top + slopHeight
         }
       }
     }
-    return posX in left..right && posY in top..bottom
+    outArea.set(left, top, right, bottom)
   }
 
   fun cancel() {
@@ -801,6 +902,52 @@ open class GestureHandler {
   protected open fun onCancel() {}
   protected open fun onFail() {}
 
+  /**
+   * Called by the orchestrator's timer wheel when the timeout scheduled with `scheduleTimeout` expires.
+   */
+  open fun onTimeout() {}
+
+  /**
+   * Schedules `onTimeout` to be called after `delayMs`, replacing the pending timeout if there is one.
+   * Timeouts are kept by the orchestrator, so the handler has to be prepared first.
+   */
+  protected fun scheduleTimeout(delayMs: Long) {
+    val timerWheel = checkNotNull(orchestrator?.timerWheel) {
+      "Handler $this has to be prepared before scheduling a timeout"
+    }
+
+    if (this.timerWheel !== timerWheel) {
+      cancelTimeout()
+      this.timerWheel = timerWheel
+    }
+
+    timerWheel.scheduleAt(this, currentTimeMillis() + delayMs)
+  }
+
+  /**
+   * Current time in the time base of `MotionEvent.getEventTime`. While an event is being handled with
+   * event time deadlines enabled, it's the time of that event.
+   */
+  protected fun currentTimeMillis(): Long {
+    if (handledEventTime != NO_EVENT_TIME) {
+      return handledEventTime
+    }
+
+    return (orchestrator?.timerWheel?.clock ?: GestureClock.SYSTEM).uptimeMillis()
+  }
+
+  protected fun cancelTimeout() {
+    timerWheel?.cancel(this)
+  }
+
+  /**
+   * Returns the transform solver shared by all handlers of the orchestrator, so that values computed
+   * for an event are reused by other handlers receiving the same event.
+   */
+  protected fun obtainMultiTouchTransform(): MultiTouchTransform = orchestrator?.multiTouchTransform
+    ?: ownMultiTouchTransform
+    ?: MultiTouchTransform().also { ownMultiTouchTransform = it }
+
   fun recordHandlerIfNotPresent() {
     hostDetectorView?.recordHandlerIfNotPresent(this)
   }
@@ -862,12 +1009,15 @@ open class GestureHandler {
       point
     }
   fun reset() {
+    cancelTimeout()
     view = null
     orchestrator = null
     Arrays.fill(trackedPointerIDs, -1)
     trackedPointersIDsCount = 0
     trackedPointersCount = 0
-    trackedPointers.fill(null)
+    isPointerDataTracked.fill(false)
+    changedTouches.clear()
+    allTouches.clear()
     touchEventType = RNGestureHandlerTouchEvent.EVENT_UNDETERMINED
     onReset()
   }
@@ -905,7 +1055,10 @@ open class GestureHandler {
 
     protected abstract fun create(context: Context?): T
 
-    fun create(context: Context?, handlerTag: Int): T = create(context).also { it.tag = handlerTag }
+    fun create(context: Context?, handlerTag: Int): T = create(context).also { handler ->
+      handler.tag = handlerTag
+      handler.updateDensity()
+    }
 
     fun setConfig(handler: T, config: ReadableMap) {
       handler.resetConfig()
@@ -925,6 +1078,9 @@ open class GestureHandler {
       if (config.hasKey(KEY_NEEDS_POINTER_DATA)) {
         handler.needsPointerData = config.getBoolean(KEY_NEEDS_POINTER_DATA)
       }
+      if (config.hasKey(KEY_EVENTS_MASK)) {
+        handler.eventsMask = config.getInt(KEY_EVENTS_MASK)
+      }
       if (config.hasKey(KEY_DISPATCHES_ANIMATED_EVENTS)) {
         handler.dispatchesAnimatedEvents = config.getBoolean(KEY_DISPATCHES_ANIMATED_EVENTS)
       }
@@ -947,10 +1103,29 @@ open class GestureHandler {
 
     abstract fun createEventBuilder(handler: T): GestureHandlerEventDataBuilder<T>
 
+    private val eventBuildersPool = AdaptivePool<GestureHandlerEventDataBuilder<T>>(
+      EVENT_BUILDERS_POOL_INITIAL_CAPACITY,
+      EVENT_BUILDERS_POOL_MAX_CAPACITY,
+    )
+
+    /**
+     * Returns a builder holding a snapshot of the handler, reusing one released by a previous event
+     * when possible. It has to be released with `GestureHandlerEventDataBuilder.release` once the
+     * event data has been built.
+     */
+    fun obtainEventBuilder(handler: T): GestureHandlerEventDataBuilder<T> {
+      val builder = eventBuildersPool.acquire()?.apply { update(handler) } ?: createEventBuilder(handler)
+      builder.attachToPool(eventBuildersPool)
+      return builder
+    }
+
     companion object {
+      private const val EVENT_BUILDERS_POOL_INITIAL_CAPACITY = 7
+      private const val EVENT_BUILDERS_POOL_MAX_CAPACITY = 64
       private const val KEY_SHOULD_CANCEL_WHEN_OUTSIDE = "shouldCancelWhenOutside"
       private const val KEY_ENABLED = "enabled"
       private const val KEY_NEEDS_POINTER_DATA = "needsPointerData"
+      private const val KEY_EVENTS_MASK = "eventsMask"
       private const val KEY_DISPATCHES_ANIMATED_EVENTS = "dispatchesAnimatedEvents"
       private const val KEY_DISPATCHES_REANIMATED_EVENTS = "dispatchesReanimatedEvents"
       private const val KEY_MANUAL_ACTIVATION = "manualActivation"
@@ -1008,6 +1183,7 @@ open class GestureHandler {
     private const val DEFAULT_DISPATCHES_ANIMATED_EVENTS = false
     private const val DEFAULT_DISPATCHES_REANIMATED_EVENTS = false
     private const val DEFAULT_CANCELS_JS_RESPONDER = true
+    private const val NO_EVENT_TIME = -1L
 
     const val STATE_UNDETERMINED = 0
     const val STATE_FAILED = 1
@@ -1026,6 +1202,9 @@ open class GestureHandler {
     const val DIRECTION_LEFT = 2
     const val DIRECTION_UP = 4
     const val DIRECTION_DOWN = 8
+    const val EVENTS_MASK_STATE_CHANGE = 1
+    const val EVENTS_MASK_UPDATE = 2
+    const val EVENTS_MASK_ALL = EVENTS_MASK_STATE_CHANGE or EVENTS_MASK_UPDATE
     const val ACTION_TYPE_NONE = 0
     const val ACTION_TYPE_REANIMATED_WORKLET = 1
     const val ACTION_TYPE_NATIVE_ANIMATED_EVENT = 2
@@ -1055,6 +1234,30 @@ open class GestureHandler {
     }
 
     private var nextEventCoalescingKey: Short = 0
+    private val tempHitArea = RectF()
+
+    /**
+     * Incremented every time `hitSlop` of any handler changes, so that data derived from handlers'
+     * hit areas (e.g. the orchestrator's hit-test index) can tell when it becomes stale.
+     */
+    @Volatile
+    var hitAreaGeneration = 0
+      private set
+
+    private val relationsGenerationCounter = AtomicInteger()
+
+    /**
+     * Incremented every time relations between handlers change, so that data derived from them (e.g.
+     * the orchestrator's relation index) can tell when it becomes stale. Relations are configured on
+     * the native modules thread and handlers are reset on the UI thread, so it's updated atomically.
+     */
+    val relationsGeneration: Int
+      get() = relationsGenerationCounter.get()
+
+    fun invalidateRelations() {
+      relationsGenerationCounter.incrementAndGet()
+    }
+
     private fun hitSlopSet(value: Float): Boolean = !java.lang.Float.isNaN(value)
 
     fun stateToString(state: Int): String? {
@@ -1072,12 +1275,4 @@ open class GestureHandler {
     fun usesNativeOrVirtualDetector(actionType: Int): Boolean =
       actionType == ACTION_TYPE_NATIVE_DETECTOR || actionType == ACTION_TYPE_VIRTUAL_DETECTOR
   }
-
-  private data class PointerData(
-    val pointerId: Int,
-    var x: Float,
-    var y: Float,
-    var absoluteX: Float,
-    var absoluteY: Float,
-  )
 }
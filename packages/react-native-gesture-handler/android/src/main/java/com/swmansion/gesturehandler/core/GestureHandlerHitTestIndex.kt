@@ -0,0 +1,299 @@
+package com.swmansion.gesturehandler.core
+
+import android.graphics.RectF
+import android.os.SystemClock
+import android.view.View
+import android.view.ViewGroup
+import android.view.ViewTreeObserver
+import com.facebook.react.uimanager.ReactCompoundView
+
+/**
+ * Spatial index of the views under the wrapper view that may have gesture handlers extracted for
+ * them. For each such view it keeps a conservative, axis-aligned region in the coordinate space of
+ * the wrapper view which covers the view itself, all of its descendants (which may overflow it,
+ * see `extractAncestorHandlers`) and `hitSlop` of the handlers attached to it.
+ *
+ * If a pointer lands outside of every region, traversing the view hierarchy can't extract any
+ * handlers other than the ones attached to the wrapper view itself, so the orchestrator may skip it.
+ *
+ * The index becomes dirty whenever the view tree is laid out or scrolled, whenever a view with handlers
+ * or one of its ancestors is moved without a layout pass (e.g. animated with a transform), and whenever
+ * handlers are attached, detached or change their `hitSlop`. Moves are detected by comparing a fingerprint
+ * of the positions and transforms of those views, computed only when the index is queried after a frame
+ * has been drawn (see `detectMoves`), so redraws which don't move them keep the index valid. It is rebuilt
+ * once the tree settles down, so a dirty index is never used - callers should fall back to the full
+ * traversal instead.
+ */
+class GestureHandlerHitTestIndex(
+  private val wrapperView: ViewGroup,
+  private val handlerRegistry: GestureHandlerRegistry,
+  private val shouldTraverseSubtree: (View) -> Boolean,
+) {
+  // Regions are stored as [left, top, right, bottom] quadruples, `regionViews[i]` owns region `i`.
+  private var regions = FloatArray(INITIAL_CAPACITY * 4)
+  private val regionViews = arrayListOf<View>()
+  private val regionsTemp = arrayListOf<RectF>()
+  private val hitAreaTemp = RectF()
+
+  private var isDirty = true
+  private var rebuildScheduled = false
+  private var lastInvalidationTime = 0L
+  private var registryGeneration = -1
+  private var hitAreaGeneration = -1
+  private var layoutFingerprint = 0L
+  private var mayHaveMoved = false
+
+  /**
+   * Incremented every time the index gets invalidated. Allows the callers to cache results derived
+   * from the index for as long as it stays the same.
+   */
+  var generation = 0
+    private set
+
+  val isValid: Boolean
+    get() = !isDirty &&
+      registryGeneration == handlerRegistry.generation &&
+      hitAreaGeneration == GestureHandler.hitAreaGeneration
+
+  val regionsCount: Int
+    get() = regionViews.size
+
+  private val rebuildRunnable = Runnable { rebuildIfSettled() }
+  private val onPreDrawListener = ViewTreeObserver.OnPreDrawListener {
+    mayHaveMoved = true
+    true
+  }
+  private val onGlobalLayoutListener = ViewTreeObserver.OnGlobalLayoutListener { invalidate() }
+  private val onScrollChangedListener = ViewTreeObserver.OnScrollChangedListener { invalidate() }
+
+  init {
+    with(wrapperView.viewTreeObserver) {
+      addOnPreDrawListener(onPreDrawListener)
+      addOnGlobalLayoutListener(onGlobalLayoutListener)
+      addOnScrollChangedListener(onScrollChangedListener)
+    }
+    invalidate()
+  }
+
+  fun release() {
+    with(wrapperView.viewTreeObserver) {
+      if (isAlive) {
+        removeOnPreDrawListener(onPreDrawListener)
+        removeOnGlobalLayoutListener(onGlobalLayoutListener)
+        removeOnScrollChangedListener(onScrollChangedListener)
+      }
+    }
+    wrapperView.removeCallbacks(rebuildRunnable)
+    rebuildScheduled = false
+    regionViews.clear()
+    isDirty = true
+  }
+
+  fun invalidate() {
+    isDirty = true
+    generation++
+    lastInvalidationTime = SystemClock.uptimeMillis()
+
+    if (!rebuildScheduled) {
+      rebuildScheduled = true
+      wrapperView.postDelayed(rebuildRunnable, REBUILD_DELAY_MS)
+    }
+  }
+
+  /**
+   * Returns `true` if the point (in the coordinate space of the wrapper view) may be inside of a
+   * view with gesture handlers. Always returns `true` when the index is not valid.
+   */
+  fun mayHaveHandlersAt(x: Float, y: Float): Boolean {
+    detectMoves()
+    if (!isValid) {
+      ensureRebuildScheduled()
+      return true
+    }
+
+    for (i in 0 until regionViews.size) {
+      if (isInRegion(i, x, y)) {
+        return true
+      }
+    }
+
+    return false
+  }
+
+  fun isInRegion(index: Int, x: Float, y: Float): Boolean {
+    val offset = index * 4
+    return x >= regions[offset] &&
+      y >= regions[offset + 1] &&
+      x <= regions[offset + 2] &&
+      y <= regions[offset + 3]
+  }
+
+  fun getRegionView(index: Int): View = regionViews[index]
+
+  /**
+   * Invalidates the index if any of the indexed views has been moved without a layout pass since the
+   * last check. Has to be called before using the regions, but is cheap when no frame has been drawn
+   * in the meantime.
+   */
+  fun detectMoves() {
+    if (!mayHaveMoved || isDirty) {
+      return
+    }
+
+    mayHaveMoved = false
+    val fingerprint = computeLayoutFingerprint()
+    if (fingerprint != layoutFingerprint) {
+      layoutFingerprint = fingerprint
+      invalidate()
+    }
+  }
+
+  private fun ensureRebuildScheduled() {
+    if (!rebuildScheduled) {
+      // Handlers were attached, detached or reconfigured without the view tree changing.
+      invalidate()
+    }
+  }
+
+  private fun rebuildIfSettled() {
+    rebuildScheduled = false
+
+    // Rebuilding requires walking the whole tree, so wait for animations and layout passes to settle
+    // instead of rebuilding the index every frame only to have it invalidated by the next one.
+    val sinceLastInvalidation = SystemClock.uptimeMillis() - lastInvalidationTime
+    if (sinceLastInvalidation < REBUILD_DELAY_MS) {
+      rebuildScheduled = true
+      wrapperView.postDelayed(rebuildRunnable, REBUILD_DELAY_MS - sinceLastInvalidation)
+      return
+    }
+
+    rebuild()
+  }
+
+  private fun rebuild() {
+    registryGeneration = handlerRegistry.generation
+    hitAreaGeneration = GestureHandler.hitAreaGeneration
+    regionViews.clear()
+
+    if (wrapperView.isAttachedToWindow) {
+      measureSubtree(wrapperView, 0)
+    }
+
+    layoutFingerprint = computeLayoutFingerprint()
+    mayHaveMoved = false
+    isDirty = false
+  }
+
+  // Hashes position, scroll and transform of the indexed views and their ancestors, which is enough to
+  // detect them being moved between layout passes. Views on the path to the wrapper view shared by
+  // many regions are hashed once per region, which is still cheaper than rebuilding the index.
+  private fun computeLayoutFingerprint(): Long {
+    var fingerprint = FINGERPRINT_SEED
+
+    for (view in regionViews) {
+      var current = view
+      while (current !== wrapperView) {
+        fingerprint = mix(fingerprint, current.left)
+        fingerprint = mix(fingerprint, current.top)
+        fingerprint = mix(fingerprint, current.scrollX)
+        fingerprint = mix(fingerprint, current.scrollY)
+        fingerprint = mix(fingerprint, current.visibility)
+        fingerprint = mix(fingerprint, current.translationX.toRawBits())
+        fingerprint = mix(fingerprint, current.translationY.toRawBits())
+        fingerprint = mix(fingerprint, current.scaleX.toRawBits())
+        fingerprint = mix(fingerprint, current.scaleY.toRawBits())
+        fingerprint = mix(fingerprint, current.rotation.toRawBits())
+        current = current.parent as? View ?: break
+      }
+    }
+
+    return fingerprint
+  }
+
+  // Returns bounds of the subtree in the coordinate space of `view`, registering regions for all
+  // views in it which may have handlers extracted for them on the way.
+  private fun measureSubtree(view: View, depth: Int): RectF {
+    val bounds = obtainRect(depth)
+    bounds.set(0f, 0f, view.width.toFloat(), view.height.toFloat())
+
+    if (view is ViewGroup) {
+      for (i in 0 until view.childCount) {
+        val child = view.getChildAt(i)
+        if (!shouldTraverseSubtree(child)) {
+          continue
+        }
+
+        val childBounds = measureSubtree(child, depth + 1)
+        mapRectToParent(child, view, childBounds)
+        bounds.union(childBounds)
+      }
+    }
+
+    if (view !== wrapperView) {
+      // Handlers of a `ReactCompoundView` may be attached to its virtual children, which we can't
+      // look up in the registry, so we have to assume it has some.
+      val handlers = handlerRegistry.getHandlersForView(view)
+      if (view is ReactCompoundView || !handlers.isNullOrEmpty()) {
+        val region = obtainRect(depth + 1)
+        region.set(bounds)
+        handlers?.let { includeHitAreas(view, it, region) }
+        addRegion(view, region)
+      }
+    }
+
+    return bounds
+  }
+
+  private fun includeHitAreas(view: View, handlers: ArrayList<GestureHandler>, region: RectF) {
+    for (handler in handlers) {
+      handler.computeHitArea(view.width.toFloat(), view.height.toFloat(), hitAreaTemp)
+      region.union(hitAreaTemp)
+    }
+  }
+
+  private fun addRegion(view: View, region: RectF) {
+    var current = view
+    while (current !== wrapperView) {
+      val parent = current.parent as? ViewGroup ?: return
+      mapRectToParent(current, parent, region)
+      current = parent
+    }
+
+    val index = regionViews.size
+    if ((index + 1) * 4 > regions.size) {
+      regions = regions.copyOf(regions.size * 2)
+    }
+
+    val offset = index * 4
+    regions[offset] = region.left
+    regions[offset + 1] = region.top
+    regions[offset + 2] = region.right
+    regions[offset + 3] = region.bottom
+    regionViews.add(view)
+  }
+
+  private fun obtainRect(depth: Int): RectF {
+    while (regionsTemp.size <= depth) {
+      regionsTemp.add(RectF())
+    }
+    return regionsTemp[depth]
+  }
+
+  companion object {
+    private const val INITIAL_CAPACITY = 16
+    private const val REBUILD_DELAY_MS = 100L
+    private const val FINGERPRINT_SEED = -0x340d631b7bdddcdbL
+    private const val FINGERPRINT_PRIME = 0x100000001b3L
+
+    private fun mix(fingerprint: Long, value: Int) = (fingerprint xor value.toLong()) * FINGERPRINT_PRIME
+
+    // Inverse of `GestureHandlerOrchestrator.transformPointToChildViewCoords`.
+    private fun mapRectToParent(child: View, parent: ViewGroup, rect: RectF) {
+      val matrix = child.matrix
+      if (!matrix.isIdentity) {
+        matrix.mapRect(rect)
+      }
+      rect.offset((child.left - parent.scrollX).toFloat(), (child.top - parent.scrollY).toFloat())
+    }
+  }
+}
@@ -9,6 +9,7 @@ import android.view.ViewGroup
 import android.widget.EditText
 import com.facebook.react.uimanager.ReactCompoundView
 import com.facebook.react.uimanager.RootView
+import com.swmansion.gesturehandler.RNSVGHitTester
 import com.swmansion.gesturehandler.react.RNGestureHandlerDetectorView
 import com.swmansion.gesturehandler.react.RNGestureHandlerRootHelper
 import com.swmansion.gesturehandler.react.RNGestureHandlerRootView
@@ -28,9 +29,86 @@ class GestureHandlerOrchestrator(
    * traversing view hierarchy and looking for gesture handlers.
    */
   var minimumAlphaForTraversal = DEFAULT_MIN_ALPHA_FOR_TRAVERSAL
+
+  /**
+   * Whether the orchestrator should maintain a spatial index of views with gesture handlers and use
+   * it to avoid traversing the whole view hierarchy when a pointer lands outside of all of them.
+   * Results of hover hit-tests are reused based on the regions of the index, see `canReuseHoverHitTest`,
+   * so with the index disabled every hover event is hit-tested again.
+   */
+  var isHitTestIndexEnabled: Boolean
+    get() = hitTestIndex != null
+    set(enabled) {
+      if (enabled && hitTestIndex == null) {
+        hitTestIndex = GestureHandlerHitTestIndex(wrapperView, handlerRegistry) {
+          canReceiveEvents(it) && !shouldIgnoreSubtreeIfGestureHandlerRootView(it)
+        }
+      } else if (!enabled) {
+        hitTestIndex?.release()
+        hitTestIndex = null
+      }
+    }
+  private var hitTestIndex: GestureHandlerHitTestIndex? = null
+
+  /**
+   * Whether handlers attached to the same coordinate view should receive the same transformed copy
+   * of the event, and handlers tracking the same pointers the same adapted copy, instead of each of
+   * them getting its own. Handlers may modify received events only if they restore them afterwards.
+   */
+  var isSharedEventDeliveryEnabled = false
+
+  /**
+   * Counters of events delivered to handlers and copies made while doing so.
+   */
+  val deliveryStats = DeliveryStats()
+
+  /**
+   * Activation and failure deadlines of the handlers, see `GestureHandler.scheduleTimeout`.
+   */
+  val timerWheel = GestureHandlerTimerWheel()
+
+  /**
+   * Whether handlers should check their deadlines against timestamps of the events they receive and
+   * measure delays from them, instead of relying only on the time the timer fires. This makes timing
+   * independent of the message queue latency and deterministic when events are replayed with
+   * `timerWheel.clock` replaced.
+   */
+  var isEventTimeDeadlinesEnabled = false
+
+  /**
+   * Focal point, span and angle of the pointers of the event being delivered, shared by the handlers.
+   */
+  val multiTouchTransform = MultiTouchTransform()
+
+  private val deliveredEventsCache = DeliveredEventsCache(deliveryStats) { view, event ->
+    transformEventToViewCoordsCached(view, event)
+  }
+  private var deliveryDepth = 0
+
+  // Wrapper -> view transforms computed while delivering the current event, see `getWrapperToViewMatrix`.
+  // Cleared once the event is delivered and whenever a native view handler forwards it to its view.
+  private val cachedTransformViews = arrayListOf<View>()
+  private val cachedTransforms = arrayListOf<Matrix>()
+  private val transformsPool = ArrayDeque<Matrix>()
+
+  // Memoized result of the last hover hit-test, see `canReuseHoverHitTest`.
+  private val hoverCachedHandlers = arrayListOf<GestureHandler>()
+  private val hoverCachedViews = arrayListOf<View>()
+  private var hoverCachedHitAreaBounded = BooleanArray(0)
+  private var hoverCachedRegions = BooleanArray(0)
+  private var hoverCacheGeneration = -1
   private val gestureHandlers = arrayListOf<GestureHandler>()
   private val awaitingHandlers = arrayListOf<GestureHandler>()
 
+  // Index of the wait-for relations between recorded handlers. Every recorded handler occupies a slot
+  // and keeps the slots of the handlers it waits for (and of the ones waiting for it) in its bitsets,
+  // so that arbitration visits only the related handlers instead of querying every pair of them.
+  // Slots of handlers with `hasDynamicFailureRequirements` are also kept in `dynamicRelationSlots`, as
+  // their requirements can't be indexed.
+  private val relationSlots = arrayListOf<GestureHandler?>()
+  private val dynamicRelationSlots = BitSet()
+  private var relationsGeneration = -1
+
   // Pool of reusable lists for snapshotting `gestureHandlers` during event delivery.
   private val handlerListPool = ArrayDeque<ArrayList<GestureHandler>>()
 
@@ -65,10 +143,12 @@ class GestureHandlerOrchestrator(
     isHandlingTouch = true
     val action = event.actionMasked
     trackPointerDownPoints(event)
-    if (action == MotionEvent.ACTION_DOWN ||
-      action == MotionEvent.ACTION_POINTER_DOWN ||
-      action == MotionEvent.ACTION_HOVER_MOVE
-    ) {
+    if (action == MotionEvent.ACTION_HOVER_MOVE) {
+      if (!canReuseHoverHitTest(event)) {
+        extractGestureHandlers(event)
+        cacheHoverHitTest(event)
+      }
+    } else if (action == MotionEvent.ACTION_DOWN || action == MotionEvent.ACTION_POINTER_DOWN) {
       extractGestureHandlers(event)
     } else if (action == MotionEvent.ACTION_CANCEL) {
       cancelAll()
@@ -91,6 +171,11 @@ class GestureHandlerOrchestrator(
 
   fun getHandlersForView(view: View) = handlerRegistry.getHandlersForView(view)
 
+  fun tearDown() {
+    isHitTestIndexEnabled = false
+    timerWheel.cancelAll()
+  }
+
   private fun scheduleFinishedHandlersCleanup() {
     if (isHandlingTouch || handlingChangeSemaphore != 0) {
       finishedHandlersCleanupScheduled = true
@@ -111,16 +196,150 @@ class GestureHandlerOrchestrator(
       }
     }
 
-    gestureHandlers.removeAll { isFinished(it.state) && !it.isAwaiting }
+    gestureHandlers.removeAll {
+      val shouldRemove = isFinished(it.state) && !it.isAwaiting
+      if (shouldRemove) {
+        removeFromRelationIndex(it)
+      }
+      shouldRemove
+    }
 
     finishedHandlersCleanupScheduled = false
   }
 
   private fun hasOtherHandlerToWaitFor(handler: GestureHandler) =
-    gestureHandlers.any { !isFinished(it.state) && shouldHandlerWaitForOther(handler, it) }
+    anyHandlerWaitedForBy(handler) { !isFinished(it.state) }
 
   private fun shouldBeCancelledByFinishedHandler(handler: GestureHandler) =
-    gestureHandlers.any { shouldHandlerWaitForOther(handler, it) && it.state == GestureHandler.STATE_END }
+    anyHandlerWaitedForBy(handler) { it.state == GestureHandler.STATE_END }
+
+  // `predicate` is checked before relations which aren't indexed, so that they are evaluated only for
+  // handlers in the right state, e.g. not for finished ones whose views may be gone.
+  private inline fun anyHandlerWaitedForBy(handler: GestureHandler, predicate: (GestureHandler) -> Boolean): Boolean {
+    ensureRelationIndexUpToDate()
+
+    if (handler.relationSlot == -1) {
+      return gestureHandlers.any { predicate(it) && shouldHandlerWaitForOther(handler, it) }
+    }
+
+    val slots = handler.waitsForSlots
+    var slot = slots.nextSetBit(0)
+    while (slot >= 0) {
+      val other = relationSlots[slot]
+      if (other != null && predicate(other)) {
+        return true
+      }
+      slot = slots.nextSetBit(slot + 1)
+    }
+
+    slot = dynamicRelationSlots.nextSetBit(0)
+    while (slot >= 0) {
+      val other = relationSlots[slot]
+      if (other != null && !slots[slot] && predicate(other) && shouldHandlerWaitForOther(handler, other)) {
+        return true
+      }
+      slot = dynamicRelationSlots.nextSetBit(slot + 1)
+    }
+
+    return false
+  }
+
+  private fun isHandlerWaitingForOther(handler: GestureHandler, other: GestureHandler): Boolean {
+    ensureRelationIndexUpToDate()
+
+    return if (handler.relationSlot == -1 || other.relationSlot == -1) {
+      shouldHandlerWaitForOther(handler, other)
+    } else {
+      handler.waitsForSlots[other.relationSlot] ||
+        (other.hasDynamicFailureRequirements && shouldHandlerWaitForOther(handler, other))
+    }
+  }
+
+  private fun addToRelationIndex(handler: GestureHandler) {
+    ensureRelationIndexUpToDate()
+
+    var slot = relationSlots.indexOf(null)
+    if (slot == -1) {
+      slot = relationSlots.size
+      relationSlots.add(handler)
+    } else {
+      relationSlots[slot] = handler
+    }
+
+    handler.relationSlot = slot
+    handler.waitsForSlots.clear()
+    handler.awaitedBySlots.clear()
+    dynamicRelationSlots[slot] = handler.hasDynamicFailureRequirements
+
+    for (other in relationSlots) {
+      if (other != null && other !== handler) {
+        indexRelations(handler, other)
+        indexRelations(other, handler)
+      }
+    }
+  }
+
+  private fun removeFromRelationIndex(handler: GestureHandler) {
+    val slot = handler.relationSlot
+    if (slot == -1) {
+      return
+    }
+
+    var otherSlot = handler.waitsForSlots.nextSetBit(0)
+    while (otherSlot >= 0) {
+      relationSlots[otherSlot]?.awaitedBySlots?.clear(slot)
+      otherSlot = handler.waitsForSlots.nextSetBit(otherSlot + 1)
+    }
+
+    otherSlot = handler.awaitedBySlots.nextSetBit(0)
+    while (otherSlot >= 0) {
+      relationSlots[otherSlot]?.waitsForSlots?.clear(slot)
+      otherSlot = handler.awaitedBySlots.nextSetBit(otherSlot + 1)
+    }
+
+    relationSlots[slot] = null
+    dynamicRelationSlots.clear(slot)
+    handler.relationSlot = -1
+    handler.waitsForSlots.clear()
+    handler.awaitedBySlots.clear()
+  }
+
+  // Relations may be reconfigured while handlers are recorded, in which case the whole index is rebuilt.
+  private fun ensureRelationIndexUpToDate() {
+    if (relationsGeneration == GestureHandler.relationsGeneration) {
+      return
+    }
+
+    relationsGeneration = GestureHandler.relationsGeneration
+
+    for (handler in relationSlots) {
+      handler?.waitsForSlots?.clear()
+      handler?.awaitedBySlots?.clear()
+    }
+
+    for (handler in relationSlots) {
+      if (handler == null) {
+        continue
+      }
+
+      for (other in relationSlots) {
+        if (other != null && other !== handler) {
+          indexRelations(handler, other)
+        }
+      }
+    }
+  }
+
+  // Only relations which don't change while handlers are recorded are indexed, requirements of handlers
+  // with `hasDynamicFailureRequirements` are evaluated when needed.
+  private fun indexRelations(handler: GestureHandler, other: GestureHandler) {
+    if (handler.shouldWaitForHandlerFailure(other) ||
+      (!other.hasDynamicFailureRequirements && other.shouldRequireToWaitForFailure(handler))
+    ) {
+      handler.waitsForSlots.set(other.relationSlot)
+      other.awaitedBySlots.set(handler.relationSlot)
+    }
+  }
 
   private fun shouldBeCancelledByActiveHandler(handler: GestureHandler) = gestureHandlers.any {
     handler.hasCommonPointers(it) &&
@@ -174,7 +393,7 @@ class GestureHandlerOrchestrator(
 
       // if there were handlers awaiting completion of this handler, we can trigger active state
       for (otherHandler in currentlyAwaitingHandlers) {
-        if (!shouldHandlerWaitForOther(otherHandler, handler) ||
+        if (!isHandlerWaitingForOther(otherHandler, handler) ||
           !awaitingHandlersTags.contains(otherHandler.tag)
         ) {
           continue
@@ -294,11 +513,22 @@ class GestureHandlerOrchestrator(
     // should be tested)
     handlersToProcess.sortWith(handlersComparator)
 
+    // The cache holds copies of a single source event, so it can't be used by re-entrant deliveries.
+    val eventsCache = deliveredEventsCache.takeIf { isSharedEventDeliveryEnabled && deliveryDepth == 0 }
+    deliveryStats.onDeliveryStarted()
+    deliveryDepth++
+
     try {
       for (handler in handlersToProcess) {
-        deliverEventToGestureHandler(handler, event)
+        deliverEventToGestureHandler(handler, event, eventsCache)
       }
     } finally {
+      deliveryDepth--
+      eventsCache?.clear()
+      if (deliveryDepth == 0) {
+        clearCachedTransforms()
+        multiTouchTransform.invalidate()
+      }
       recycleHandlerList(handlersToProcess)
     }
   }
@@ -317,7 +547,11 @@ class GestureHandlerOrchestrator(
     }
   }
 
-  private fun deliverEventToGestureHandler(handler: GestureHandler, sourceEvent: MotionEvent) {
+  private fun deliverEventToGestureHandler(
+    handler: GestureHandler,
+    sourceEvent: MotionEvent,
+    eventsCache: DeliveredEventsCache?,
+  ) {
     if (!isViewAttachedUnderWrapper(handler.view ?: handler.hostDetectorView)) {
       handler.cancel()
       return
@@ -328,14 +562,15 @@ class GestureHandlerOrchestrator(
     }
 
     val action = sourceEvent.actionMasked
-    val event = transformEventToViewCoords(handler.coordinateView, MotionEvent.obtain(sourceEvent))
+    val event = eventsCache?.obtainTransformedEvent(handler.coordinateView, sourceEvent)
+      ?: transformEventToViewCoordsCached(handler.coordinateView, deliveryStats.obtain(sourceEvent))
 
     if (handler.needsPointerData) {
       handler.updatePointerData(event, sourceEvent)
     }
 
     if (!handler.isAwaiting || action != MotionEvent.ACTION_MOVE) {
-      handler.handle(event, sourceEvent)
+      handler.handle(event, sourceEvent, eventsCache)
       if (handler.state == GestureHandler.STATE_ACTIVE && handler.isActive) {
         // After handler is done waiting for other one to fail its progress should be
         // reset, otherwise there may be a visible jump in values sent by the handler.
@@ -362,7 +597,20 @@ class GestureHandlerOrchestrator(
       }
     }
 
-    event.recycle()
+    if (eventsCache == null) {
+      // Copies of the event made for this handler are recycled and likely to be obtained again for the
+      // next one, with other pointers or coordinates.
+      multiTouchTransform.invalidate()
+      event.recycle()
+    }
+
+    if (handler is NativeViewGestureHandler && handler.view != null) {
+      // The event has been forwarded to the native view, which may have scrolled (e.g. ScrollView) and
+      // moved the views below it, so transforms computed before can't be reused by the next handlers.
+      eventsCache?.clear()
+      multiTouchTransform.invalidate()
+      clearCachedTransforms()
+    }
   }
 
   /**
@@ -454,6 +702,60 @@ class GestureHandlerOrchestrator(
     return event
   }
 
+  // Equivalent of `transformEventToViewCoords` which computes the transform of every view at most once
+  // per delivered event. Handlers attached to the same view (or to siblings) reuse it instead of walking
+  // the parent chain and inverting the same matrices again.
+  private fun transformEventToViewCoordsCached(view: View?, event: MotionEvent): MotionEvent {
+    if (view == null) {
+      return event
+    }
+
+    val matrix = getWrapperToViewMatrix(view)
+    if (!matrix.isIdentity) {
+      event.transform(matrix)
+    }
+
+    return event
+  }
+
+  private fun getWrapperToViewMatrix(view: View): Matrix {
+    for (i in cachedTransformViews.indices) {
+      if (cachedTransformViews[i] === view) {
+        return cachedTransforms[i]
+      }
+    }
+
+    val matrix = transformsPool.pollLast() ?: Matrix()
+    val parent = view.parent as? ViewGroup
+
+    // Same traversal as in `transformEventToViewCoords`, but the transform of the parent is taken from
+    // the cache (or computed once and cached for the siblings of the view).
+    if (parent != null && parent != wrapperView) {
+      matrix.set(getWrapperToViewMatrix(parent))
+    } else {
+      matrix.reset()
+    }
+
+    if (parent != null) {
+      matrix.postTranslate((parent.scrollX - view.left).toFloat(), (parent.scrollY - view.top).toFloat())
+    }
+
+    if (!view.matrix.isIdentity) {
+      view.matrix.invert(inverseMatrix)
+      matrix.postConcat(inverseMatrix)
+    }
+
+    cachedTransformViews.add(view)
+    cachedTransforms.add(matrix)
+    return matrix
+  }
+
+  private fun clearCachedTransforms() {
+    transformsPool.addAll(cachedTransforms)
+    cachedTransformViews.clear()
+    cachedTransforms.clear()
+  }
+
   /**
    * Transforms a point in the coordinates of wrapperView into the coordinate space of the received view.
    *
@@ -520,6 +822,7 @@ class GestureHandlerOrchestrator(
     }
 
     gestureHandlers.add(handler)
+    addToRelationIndex(handler)
   }
 
   private fun isViewOverflowingParent(view: View): Boolean {
@@ -553,17 +856,15 @@ class GestureHandlerOrchestrator(
         val parentViewGroup: ViewGroup = parent
 
         handlerRegistry.getHandlersForView(parent)?.let {
-          synchronized(it) {
-            for (handler in it) {
-              if (shouldHandlerSkipHoverEvents(handler, event)) {
-                continue
-              }
+          for (handler in it) {
+            if (shouldHandlerSkipHoverEvents(handler, event)) {
+              continue
+            }
 
-              if (handler.isEnabled && handler.isWithinBounds(view, coords[0], coords[1])) {
-                found = true
-                recordHandlerIfNotPresent(handler, parentViewGroup)
-                handler.startTrackingPointer(pointerId)
-              }
+            if (handler.isEnabled && handler.isWithinBounds(view, coords[0], coords[1])) {
+              found = true
+              recordHandlerIfNotPresent(handler, parentViewGroup)
+              handler.startTrackingPointer(pointerId)
             }
           }
         }
@@ -615,21 +916,19 @@ class GestureHandlerOrchestrator(
 
     var found = false
     handlerRegistry.getHandlersForView(view)?.let {
-      synchronized(it) {
-        for (handler in it) {
-          // skip disabled and out-of-bounds handlers
-          if (!handler.isEnabled || !handler.isWithinBounds(boundsView, boundsX, boundsY)) {
-            continue
-          }
-
-          if (shouldHandlerSkipHoverEvents(handler, event)) {
-            continue
-          }
+      for (handler in it) {
+        // skip disabled and out-of-bounds handlers
+        if (!handler.isEnabled || !handler.isWithinBounds(boundsView, boundsX, boundsY)) {
+          continue
+        }
 
-          recordHandlerIfNotPresent(handler, view)
-          handler.startTrackingPointer(pointerId)
-          found = true
+        if (shouldHandlerSkipHoverEvents(handler, event)) {
+          continue
         }
+
+        recordHandlerIfNotPresent(handler, view)
+        handler.startTrackingPointer(pointerId)
+        found = true
       }
     }
 
@@ -654,16 +953,14 @@ class GestureHandlerOrchestrator(
 
       if (tagForCoords != null && tagForCoords != view.id) {
         handlerRegistry.getHandlersForViewWithTag(tagForCoords)?.let {
-          synchronized(it) {
-            for (handler in it) {
-              if (shouldHandlerSkipHoverEvents(handler, event)) {
-                continue
-              }
-
-              recordHandlerIfNotPresent(handler, view)
-              handler.startTrackingPointer(pointerId)
-              found = true
+          for (handler in it) {
+            if (shouldHandlerSkipHoverEvents(handler, event)) {
+              continue
             }
+
+            recordHandlerIfNotPresent(handler, view)
+            handler.startTrackingPointer(pointerId)
+            found = true
           }
         }
       }
@@ -677,10 +974,167 @@ class GestureHandlerOrchestrator(
     val pointerId = event.getPointerId(actionIndex)
     tempCoords[0] = event.getX(actionIndex)
     tempCoords[1] = event.getY(actionIndex)
+
+    if (canSkipTraversal(tempCoords)) {
+      // No view other than the wrapper can have handlers under the pointer, so the traversal would
+      // only end up recording handlers attached to the wrapper itself.
+      recordViewHandlersForPointer(wrapperView, tempCoords, pointerId, event)
+      return
+    }
+
     traverseWithPointerEvents(wrapperView, tempCoords, pointerId, event)
     extractGestureHandlers(wrapperView, tempCoords, pointerId, event)
   }
 
+  private fun canSkipTraversal(coords: FloatArray): Boolean {
+    val index = hitTestIndex ?: return false
+    val pointerEvents = viewConfigHelper.getPointerEventsConfigForView(wrapperView)
+
+    // With `box-none` handlers of the wrapper are extracted only if one of its children becomes the
+    // touch target, which can't be determined without the traversal.
+    if (pointerEvents != PointerEventsConfig.AUTO && pointerEvents != PointerEventsConfig.BOX_ONLY) {
+      return false
+    }
+
+    return !index.mayHaveHandlersAt(coords[0], coords[1])
+  }
+
+  /**
+   * Hover events arrive at the pointer's report rate even if it doesn't leave the view it is over, and
+   * each of them would normally trigger the full hit-test. Using the hit-test index we remember which
+   * views with handlers were under the pointer during the last hit-test, together with the handlers
+   * eligible for hover events that are attached to them. The hit-test can't record anything new as
+   * long as the pointer stays within exactly the same regions of the index (whose generation changes
+   * only when views are laid out, scrolled or moved) and each of those handlers is either still tracking
+   * the pointer or can't start tracking it. The latter holds for handlers skipped by the hit-test (e.g.
+   * because of their `hitSlop`) while the pointer stays outside of their hit area, unless the view they
+   * are attached to has overflowing descendants, through which they can be extracted as well. Handlers
+   * whose view is covered by another one remain a miss for as long as the pointer is in their hit area.
+   */
+  private fun canReuseHoverHitTest(event: MotionEvent): Boolean {
+    // Regions are tracked only by the index, so the results are reused only if `isHitTestIndexEnabled`.
+    val index = hitTestIndex ?: return false
+    index.detectMoves()
+    if (hoverCacheGeneration != index.generation || !index.isValid) {
+      return false
+    }
+
+    val x = event.getX(event.actionIndex)
+    val y = event.getY(event.actionIndex)
+    for (i in 0 until index.regionsCount) {
+      if (index.isInRegion(i, x, y) != hoverCachedRegions[i]) {
+        return false
+      }
+    }
+
+    val pointerId = event.getPointerId(event.actionIndex)
+    for (i in hoverCachedHandlers.indices) {
+      val handler = hoverCachedHandlers[i]
+      if (!handler.isEnabled) {
+        continue
+      }
+
+      if (handler.isTrackingPointer(pointerId)) {
+        if (isFinished(handler.state)) {
+          return false
+        }
+      } else if (!hoverCachedHitAreaBounded[i] || isInHandlerHitArea(handler, hoverCachedViews[i], x, y)) {
+        return false
+      }
+    }
+
+    return true
+  }
+
+  private fun isInHandlerHitArea(handler: GestureHandler, view: View, x: Float, y: Float): Boolean {
+    val point = tempPoint
+    point.set(x, y)
+    transformPointToViewCoords(view, point)
+    if (handler.isWithinBounds(view, point.x, point.y)) {
+      return true
+    }
+
+    // Native detectors with a single child check bounds of the child, see `recordViewHandlersForPointer`.
+    if (view is RNGestureHandlerDetectorView && view.childCount == 1) {
+      val child = view.getChildAt(0)
+      transformPointToChildViewCoords(point.x, point.y, view, child, point)
+      return handler.isWithinBounds(child, point.x, point.y)
+    }
+
+    return false
+  }
+
+  private fun hasOverflowingDescendants(view: View): Boolean {
+    if (view !is ViewGroup) {
+      return false
+    }
+
+    for (i in 0 until view.childCount) {
+      val child = view.getChildAt(i)
+      if (isViewOverflowingParent(child) || hasOverflowingDescendants(child)) {
+        return true
+      }
+    }
+
+    return false
+  }
+
+  private fun cacheHoverHitTest(event: MotionEvent) {
+    hoverCacheGeneration = -1
+    hoverCachedHandlers.clear()
+    hoverCachedViews.clear()
+
+    val index = hitTestIndex ?: return
+    if (!index.isValid) {
+      return
+    }
+
+    if (hoverCachedRegions.size < index.regionsCount) {
+      hoverCachedRegions = BooleanArray(index.regionsCount)
+    }
+
+    val x = event.getX(event.actionIndex)
+    val y = event.getY(event.actionIndex)
+    for (i in 0 until index.regionsCount) {
+      hoverCachedRegions[i] = index.isInRegion(i, x, y)
+      if (!hoverCachedRegions[i]) {
+        continue
+      }
+
+      val view = index.getRegionView(i)
+      if (view is ReactCompoundView) {
+        // Handlers may be attached to virtual views we can't look up.
+        hoverCachedHandlers.clear()
+        hoverCachedViews.clear()
+        return
+      }
+      cacheHoverHandlersForView(view, event, !RNSVGHitTester.isSvgElement(view) && !hasOverflowingDescendants(view))
+    }
+    // Handlers of the wrapper are extracted through any of its descendants.
+    cacheHoverHandlersForView(wrapperView, event, false)
+
+    hoverCacheGeneration = index.generation
+  }
+
+  private fun cacheHoverHandlersForView(view: View, event: MotionEvent, isHitAreaBounded: Boolean) {
+    handlerRegistry.getHandlersForView(view)?.let {
+      for (handler in it) {
+        if (shouldHandlerSkipHoverEvents(handler, event)) {
+          continue
+        }
+
+        val index = hoverCachedHandlers.size
+        if (index >= hoverCachedHitAreaBounded.size) {
+          hoverCachedHitAreaBounded = hoverCachedHitAreaBounded.copyOf(maxOf(index * 2, 8))
+        }
+
+        hoverCachedHandlers.add(handler)
+        hoverCachedViews.add(view)
+        hoverCachedHitAreaBounded[index] = isHitAreaBounded
+      }
+    }
+  }
+
   private fun shouldIgnoreSubtreeIfGestureHandlerRootView(view: View) =
     view is RNGestureHandlerRootView && view != wrapperView && view.isRootViewEnabled()
 
@@ -771,9 +1225,7 @@ class GestureHandlerOrchestrator(
   // orchestrator-driven and unaffected.
   private fun isViewDrivenByActiveNativeGesture(view: View, activeHandlers: List<GestureHandler>) =
     handlerRegistry.getHandlersForView(view)?.let { handlers ->
-      synchronized(handlers) {
-        handlers.any { nativeGestureSurvivesArbitration(it, activeHandlers) }
-      }
+      handlers.any { nativeGestureSurvivesArbitration(it, activeHandlers) }
     } ?: false
 
   // A native handler survives arbitration if it is active, or it does not conflict with any active handler.
@@ -4,6 +4,15 @@ import android.view.View
 import java.util.*
 
 interface GestureHandlerRegistry {
+  /**
+   * Incremented every time a handler gets attached to or detached from a view.
+   */
+  val generation: Int
+
+  /**
+   * Returned lists are snapshots which are replaced rather than modified when handlers get attached or
+   * detached, so they can be iterated without synchronization and must not be modified by the callers.
+   */
   fun getHandlersForViewWithTag(viewTag: Int): ArrayList<GestureHandler>?
   fun getHandlersForView(view: View): ArrayList<GestureHandler>?
 }
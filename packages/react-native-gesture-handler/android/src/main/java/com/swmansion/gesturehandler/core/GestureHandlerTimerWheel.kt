@@ -0,0 +1,165 @@
+package com.swmansion.gesturehandler.core
+
+import android.os.Handler
+import android.os.Looper
+
+/**
+ * Activation and failure deadlines of all handlers of an orchestrator.
+ *
+ * Every handler has at most one pending timeout, kept in a slot whose index is stored in
+ * `GestureHandler.timerSlot`, so scheduling and cancelling don't search or allocate. A single message
+ * is posted for the earliest deadline and cancelling doesn't remove it - when it runs, all expired
+ * timeouts are fired and the message is posted again for the next one. This way gestures starting
+ * and ending in a long list don't flood the message queue with callbacks that are removed right away.
+ *
+ * Deadlines are expressed in the time base of `clock`. Handlers may also check their deadline against
+ * timestamps of the events they receive with `fireIfExpired`, in which case the posted message is only
+ * a fallback for when no events arrive.
+ */
+class GestureHandlerTimerWheel {
+  private val handler = Handler(Looper.getMainLooper())
+  private val tick = Runnable { fireExpiredTimeouts() }
+
+  var clock = GestureClock.SYSTEM
+
+  private var handlers = arrayOfNulls<GestureHandler>(INITIAL_CAPACITY)
+  private var deadlines = LongArray(INITIAL_CAPACITY)
+  private var freeSlots = IntArray(INITIAL_CAPACITY) { INITIAL_CAPACITY - 1 - it }
+  private var freeSlotsCount = INITIAL_CAPACITY
+
+  // Deadline the tick is posted for, `NO_DEADLINE` if it isn't posted.
+  private var postedDeadline = NO_DEADLINE
+  private var isFiring = false
+
+  fun schedule(gestureHandler: GestureHandler, delayMs: Long) {
+    scheduleAt(gestureHandler, clock.uptimeMillis() + delayMs)
+  }
+
+  fun scheduleAt(gestureHandler: GestureHandler, deadline: Long) {
+    var slot = gestureHandler.timerSlot
+
+    if (slot == -1) {
+      slot = obtainSlot()
+      handlers[slot] = gestureHandler
+      gestureHandler.timerSlot = slot
+    }
+
+    deadlines[slot] = deadline
+
+    if (!isFiring && deadline < postedDeadline) {
+      post(deadline)
+    }
+  }
+
+  fun cancel(gestureHandler: GestureHandler) {
+    val slot = gestureHandler.timerSlot
+
+    if (slot == -1) {
+      return
+    }
+
+    handlers[slot] = null
+    gestureHandler.timerSlot = -1
+    freeSlots[freeSlotsCount++] = slot
+  }
+
+  /**
+   * Cancels all pending timeouts, e.g. when the orchestrator is torn down.
+   */
+  fun cancelAll() {
+    for (gestureHandler in handlers) {
+      gestureHandler?.let { cancel(it) }
+    }
+
+    if (postedDeadline != NO_DEADLINE) {
+      handler.removeCallbacks(tick)
+      postedDeadline = NO_DEADLINE
+    }
+  }
+
+  /**
+   * Fires the timeout of the handler if its deadline is not later than `time`. Returns whether it was fired.
+   */
+  fun fireIfExpired(gestureHandler: GestureHandler, time: Long): Boolean {
+    val slot = gestureHandler.timerSlot
+
+    if (slot == -1 || deadlines[slot] > time) {
+      return false
+    }
+
+    cancel(gestureHandler)
+    gestureHandler.onTimeout()
+    return true
+  }
+
+  private fun obtainSlot(): Int {
+    if (freeSlotsCount == 0) {
+      val capacity = handlers.size
+
+      handlers = handlers.copyOf(capacity * 2)
+      deadlines = deadlines.copyOf(capacity * 2)
+      freeSlots = IntArray(capacity * 2)
+
+      for (slot in capacity * 2 - 1 downTo capacity) {
+        freeSlots[freeSlotsCount++] = slot
+      }
+    }
+
+    return freeSlots[--freeSlotsCount]
+  }
+
+  private fun post(deadline: Long) {
+    if (postedDeadline != NO_DEADLINE) {
+      handler.removeCallbacks(tick)
+    }
+
+    postedDeadline = NO_DEADLINE
+
+    // `postAtTime` uses `SystemClock.uptimeMillis`, with another clock the timeouts are fired only by
+    // `fireIfExpired` and by the owner of the clock calling `fireExpiredTimeouts`.
+    if (clock === GestureClock.SYSTEM) {
+      postedDeadline = deadline
+      handler.postAtTime(tick, deadline)
+    }
+  }
+
+  /**
+   * Fires all timeouts whose deadlines have passed according to `clock`.
+   */
+  fun fireExpiredTimeouts() {
+    if (postedDeadline != NO_DEADLINE) {
+      handler.removeCallbacks(tick)
+      postedDeadline = NO_DEADLINE
+    }
+    isFiring = true
+
+    // Timeouts may schedule and cancel others, so the slot is checked again right before firing.
+    val now = clock.uptimeMillis()
+    for (slot in handlers.indices) {
+      val gestureHandler = handlers[slot] ?: continue
+
+      if (deadlines[slot] <= now) {
+        cancel(gestureHandler)
+        gestureHandler.onTimeout()
+      }
+    }
+
+    isFiring = false
+
+    var nextDeadline = NO_DEADLINE
+    for (slot in handlers.indices) {
+      if (handlers[slot] != null && deadlines[slot] < nextDeadline) {
+        nextDeadline = deadlines[slot]
+      }
+    }
+
+    if (nextDeadline != NO_DEADLINE) {
+      post(nextDeadline)
+    }
+  }
+
+  companion object {
+    private const val INITIAL_CAPACITY = 16
+    private const val NO_DEADLINE = Long.MAX_VALUE
+  }
+}
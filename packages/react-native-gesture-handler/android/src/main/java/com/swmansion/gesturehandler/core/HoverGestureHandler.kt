@@ -1,8 +1,6 @@
 package com.swmansion.gesturehandler.core
 
 import android.content.Context
-import android.os.Handler
-import android.os.Looper
 import android.view.MotionEvent
 import android.view.View
 import android.view.ViewGroup
@@ -12,8 +10,6 @@ import com.swmansion.gesturehandler.react.events.eventbuilders.HoverGestureHandl
 class HoverGestureHandler : GestureHandler() {
   override val isContinuous = true
 
-  private val handler = Handler(Looper.getMainLooper())
-  private var finishRunnable = Runnable { finish() }
   var stylusData: StylusData = StylusData()
     private set
 
@@ -59,6 +55,9 @@ class HoverGestureHandler : GestureHandler() {
     return super.shouldBeCancelledBy(handler)
   }
 
+  // Depends on which of the views is drawn over the other one.
+  override val hasDynamicFailureRequirements = true
+
   override fun shouldRequireToWaitForFailure(handler: GestureHandler): Boolean {
     if (handler is HoverGestureHandler) {
       if (!(this isAncestorOf handler) && !(handler isAncestorOf this)) {
@@ -85,7 +84,7 @@ class HoverGestureHandler : GestureHandler() {
 
   override fun onHandle(event: MotionEvent, sourceEvent: MotionEvent) {
     if (event.action == MotionEvent.ACTION_DOWN) {
-      handler.removeCallbacksAndMessages(null)
+      cancelTimeout()
     } else if (event.action == MotionEvent.ACTION_UP) {
       if (!isWithinBounds) {
         finish()
@@ -98,7 +97,7 @@ class HoverGestureHandler : GestureHandler() {
       event.action == MotionEvent.ACTION_HOVER_EXIT -> {
         // Touching down synthesizes HOVER_EXIT right before ACTION_DOWN, so finish
         // with a slight delay - the DOWN cancels it and hover survives the press.
-        handler.postDelayed(finishRunnable, 4)
+        scheduleTimeout(4)
       }
 
       !isWithinBounds -> {
@@ -125,6 +124,10 @@ class HoverGestureHandler : GestureHandler() {
     stylusData = StylusData()
   }
 
+  override fun onTimeout() {
+    finish()
+  }
+
   private fun finish() {
     when (this.state) {
       STATE_UNDETERMINED -> cancel()
@@ -1,9 +1,6 @@
 package com.swmansion.gesturehandler.core
 
 import android.content.Context
-import android.os.Handler
-import android.os.Looper
-import android.os.SystemClock
 import android.view.MotionEvent
 import com.facebook.react.bridge.ReadableMap
 import com.facebook.react.uimanager.PixelUtil
@@ -20,7 +17,6 @@ class LongPressGestureHandler(context: Context) : GestureHandler() {
   private var startY = 0f
   private var startTime: Long = 0
   private var previousTime: Long = 0
-  private val handler = Handler(Looper.getMainLooper())
   private var currentPointers = 0
 
   init {
@@ -66,7 +62,7 @@ class LongPressGestureHandler(context: Context) : GestureHandler() {
   }
 
   override fun initialize(event: MotionEvent, sourceEvent: MotionEvent) {
-    previousTime = SystemClock.uptimeMillis()
+    previousTime = currentTimeMillis()
     startTime = previousTime
   }
 
@@ -112,9 +108,9 @@ class LongPressGestureHandler(context: Context) : GestureHandler() {
           sourceEvent.actionMasked == MotionEvent.ACTION_BUTTON_PRESS
         )
     ) {
-      handler.removeCallbacksAndMessages(null)
+      cancelTimeout()
       if (minDurationMs > 0) {
-        handler.postDelayed({ activate() }, minDurationMs)
+        scheduleTimeout(minDurationMs)
       } else if (minDurationMs == 0L) {
         activate()
       }
@@ -124,7 +120,7 @@ class LongPressGestureHandler(context: Context) : GestureHandler() {
     ) {
       currentPointers--
 
-      handler.removeCallbacksAndMessages(null)
+      cancelTimeout()
 
       if (state == STATE_ACTIVE) {
         end()
@@ -160,17 +156,21 @@ class LongPressGestureHandler(context: Context) : GestureHandler() {
     }
   }
 
+  override fun onTimeout() {
+    activate()
+  }
+
   override fun onStateChange(newState: Int, previousState: Int) {
-    handler.removeCallbacksAndMessages(null)
+    cancelTimeout()
   }
 
   override fun dispatchStateChange(newState: Int, prevState: Int) {
-    previousTime = SystemClock.uptimeMillis()
+    previousTime = currentTimeMillis()
     super.dispatchStateChange(newState, prevState)
   }
 
   override fun dispatchHandlerUpdate(event: MotionEvent) {
-    previousTime = SystemClock.uptimeMillis()
+    previousTime = currentTimeMillis()
     super.dispatchHandlerUpdate(event)
   }
 
@@ -0,0 +1,131 @@
+package com.swmansion.gesturehandler.core
+
+import android.view.MotionEvent
+import kotlin.math.abs
+import kotlin.math.atan2
+import kotlin.math.hypot
+
+/**
+ * Focal point, span and angle of the pointers of an event, shared by handlers which read them from the
+ * same event - e.g. Pinch, Rotation and Pan attached to one view.
+ *
+ * Handlers tracking all pointers of the event, or the same pointers when delivered events are shared (see
+ * `DeliveredEventsCache`), receive the same `MotionEvent` instance, so the values are computed once for the
+ * first handler and reused by the others until another event is passed to `update`. The pointer which goes
+ * up in `ACTION_POINTER_UP` is excluded, same as in the platform `ScaleGestureDetector`.
+ *
+ * Computed values are valid until `invalidate` is called. Its owner has to call it whenever an event passed
+ * to `update` may be recycled, as `MotionEvent.obtain` may return the same instance for a copy with other
+ * pointers or coordinates. The orchestrator does it once a delivery finishes and after every handler which
+ * got its own copies of the event.
+ */
+class MultiTouchTransform {
+  var focusX = 0f
+    private set
+  var focusY = 0f
+    private set
+
+  /**
+   * Average distance between the pointers through the focal point.
+   */
+  var span = 0f
+    private set
+
+  /**
+   * Middle of the segment between the pointers passed to `updatePair`.
+   */
+  var pairAnchorX = 0f
+    private set
+  var pairAnchorY = 0f
+    private set
+
+  /**
+   * Angle of the segment between the pointers passed to `updatePair` in radians, growing when rotating
+   * counterclockwise.
+   */
+  var pairAngle = 0.0
+    private set
+
+  private var event: MotionEvent? = null
+
+  private var pairEvent: MotionEvent? = null
+  private var firstPairPointerId = MotionEvent.INVALID_POINTER_ID
+  private var secondPairPointerId = MotionEvent.INVALID_POINTER_ID
+
+  fun update(event: MotionEvent): MultiTouchTransform {
+    if (event === this.event) {
+      return this
+    }
+
+    this.event = event
+
+    val skipIndex = if (event.actionMasked == MotionEvent.ACTION_POINTER_UP) event.actionIndex else -1
+    val count = if (skipIndex == -1) event.pointerCount else event.pointerCount - 1
+    var sumX = 0f
+    var sumY = 0f
+
+    for (i in 0 until event.pointerCount) {
+      if (i != skipIndex) {
+        sumX += event.getX(i)
+        sumY += event.getY(i)
+      }
+    }
+
+    focusX = sumX / count
+    focusY = sumY / count
+
+    var deviationSumX = 0f
+    var deviationSumY = 0f
+
+    for (i in 0 until event.pointerCount) {
+      if (i != skipIndex) {
+        deviationSumX += abs(event.getX(i) - focusX)
+        deviationSumY += abs(event.getY(i) - focusY)
+      }
+    }
+
+    span = hypot(deviationSumX / count * 2, deviationSumY / count * 2)
+
+    return this
+  }
+
+  /**
+   * Computes the anchor and angle of the segment between two pointers. Returns false if any of them is
+   * not present in the event.
+   */
+  fun updatePair(event: MotionEvent, firstPointerId: Int, secondPointerId: Int): Boolean {
+    val firstIndex = event.findPointerIndex(firstPointerId)
+    val secondIndex = event.findPointerIndex(secondPointerId)
+
+    if (firstIndex == -1 || secondIndex == -1) {
+      return false
+    }
+
+    if (event === pairEvent && firstPointerId == firstPairPointerId && secondPointerId == secondPairPointerId) {
+      return true
+    }
+
+    pairEvent = event
+    firstPairPointerId = firstPointerId
+    secondPairPointerId = secondPointerId
+
+    val firstX = event.getX(firstIndex)
+    val firstY = event.getY(firstIndex)
+    val secondX = event.getX(secondIndex)
+    val secondY = event.getY(secondIndex)
+
+    pairAnchorX = (firstX + secondX) * 0.5f
+    pairAnchorY = (firstY + secondY) * 0.5f
+    pairAngle = -atan2((secondY - firstY).toDouble(), (secondX - firstX).toDouble())
+
+    return true
+  }
+
+  /**
+   * Drops the computed values along with references to the events they were computed for.
+   */
+  fun invalidate() {
+    event = null
+    pairEvent = null
+  }
+}
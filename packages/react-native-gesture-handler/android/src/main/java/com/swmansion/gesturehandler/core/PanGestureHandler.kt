@@ -1,10 +1,7 @@
 package com.swmansion.gesturehandler.core
 
 import android.content.Context
-import android.os.Handler
-import android.os.Looper
 import android.view.MotionEvent
-import android.view.VelocityTracker
 import android.view.ViewConfiguration
 import com.facebook.react.bridge.ReadableMap
 import com.facebook.react.uimanager.PixelUtil
@@ -56,14 +53,19 @@ class PanGestureHandler(context: Context?) : GestureHandler() {
   private var offsetY = 0f
   private var lastX = 0f
   private var lastY = 0f
-  private var velocityTracker: VelocityTracker? = null
+  private val velocityEstimator = VelocityEstimator()
+  private var isTrackingVelocity = false
   private var averageTouches = false
   private var activateAfterLongPress = DEFAULT_ACTIVATE_AFTER_LONG_PRESS
-  private val activateDelayed = Runnable { activate() }
-  private val handler = Handler(Looper.getMainLooper())
   var stylusData: StylusData = StylusData()
     private set
 
+  var velocityStrategy: VelocityEstimator.Strategy
+    get() = velocityEstimator.strategy
+    set(value) {
+      velocityEstimator.strategy = value
+    }
+
   /**
    * On Android when there are multiple pointers on the screen pan gestures most often just consider
    * the last placed pointer. The behaviour on iOS is quite different where the x and y component
@@ -102,6 +104,7 @@ class PanGestureHandler(context: Context?) : GestureHandler() {
     maxPointers = DEFAULT_MAX_POINTERS
     activateAfterLongPress = DEFAULT_ACTIVATE_AFTER_LONG_PRESS
     averageTouches = DEFAULT_AVERAGE_TOUCHES
+    velocityStrategy = VelocityEstimator.Strategy.DEFAULT
   }
 
   private fun shouldActivate(): Boolean {
@@ -140,7 +143,7 @@ class PanGestureHandler(context: Context?) : GestureHandler() {
     val dy = lastY - startY + offsetY
 
     if (activateAfterLongPress > 0 && dx * dx + dy * dy > defaultMinDist * defaultMinDist) {
-      handler.removeCallbacksAndMessages(null)
+      cancelTimeout()
       return true
     }
     if (failOffsetXStart != MAX_VALUE_IGNORE && dx < failOffsetXStart) {
@@ -161,7 +164,21 @@ class PanGestureHandler(context: Context?) : GestureHandler() {
     offsetY = 0f
     velocityX = 0f
     velocityY = 0f
-    velocityTracker = VelocityTracker.obtain()
+    velocityEstimator.reset()
+    isTrackingVelocity = true
+  }
+
+  private fun updateLastPosition(event: MotionEvent) {
+    if (averageTouches) {
+      // Shared with other handlers receiving the event, e.g. Pinch and Rotation on the same view. Like
+      // `getLastPointerX(event, true)`, it leaves out the pointer going up in `ACTION_POINTER_UP`.
+      val transform = obtainMultiTouchTransform().update(event)
+      lastX = transform.focusX
+      lastY = transform.focusY
+    } else {
+      lastX = getLastPointerX(event, false)
+      lastY = getLastPointerY(event, false)
+    }
   }
 
   override fun onHandle(event: MotionEvent, sourceEvent: MotionEvent) {
@@ -186,27 +203,25 @@ class PanGestureHandler(context: Context?) : GestureHandler() {
       offsetY += lastY - startY
 
       // reset starting point
-      lastX = getLastPointerX(sourceEvent, averageTouches)
-      lastY = getLastPointerY(sourceEvent, averageTouches)
+      updateLastPosition(sourceEvent)
       startX = lastX
       startY = lastY
     } else {
-      lastX = getLastPointerX(sourceEvent, averageTouches)
-      lastY = getLastPointerY(sourceEvent, averageTouches)
+      updateLastPosition(sourceEvent)
     }
     if (state == STATE_UNDETERMINED && sourceEvent.pointerCount >= minPointers) {
       initialize(event, sourceEvent)
-      addVelocityMovement(velocityTracker, sourceEvent)
+      velocityEstimator.addMovement(sourceEvent)
       begin()
 
       if (activateAfterLongPress > 0) {
-        handler.postDelayed(activateDelayed, activateAfterLongPress)
+        scheduleTimeout(activateAfterLongPress)
       }
-    } else if (velocityTracker != null) {
-      addVelocityMovement(velocityTracker, sourceEvent)
-      velocityTracker!!.computeCurrentVelocity(1000)
-      velocityX = velocityTracker!!.xVelocity
-      velocityY = velocityTracker!!.yVelocity
+    } else if (isTrackingVelocity) {
+      velocityEstimator.addMovement(sourceEvent)
+      velocityEstimator.computeVelocity()
+      velocityX = velocityEstimator.velocityX
+      velocityY = velocityEstimator.velocityY
     }
     if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_BUTTON_RELEASE) {
       if (state == STATE_ACTIVE) {
@@ -248,16 +263,17 @@ class PanGestureHandler(context: Context?) : GestureHandler() {
     super.activate(force)
   }
 
+  override fun onTimeout() {
+    activate()
+  }
+
   override fun onCancel() {
-    handler.removeCallbacksAndMessages(null)
+    cancelTimeout()
   }
 
   override fun onReset() {
-    handler.removeCallbacksAndMessages(null)
-    velocityTracker?.let {
-      it.recycle()
-      velocityTracker = null
-    }
+    cancelTimeout()
+    isTrackingVelocity = false
 
     stylusData = StylusData()
   }
@@ -383,6 +399,9 @@ class PanGestureHandler(context: Context?) : GestureHandler() {
       if (config.hasKey(KEY_ACTIVATE_AFTER_LONG_PRESS)) {
         handler.activateAfterLongPress = config.getInt(KEY_ACTIVATE_AFTER_LONG_PRESS).toLong()
       }
+      if (config.hasKey(KEY_VELOCITY_STRATEGY)) {
+        handler.velocityStrategy = VelocityEstimator.Strategy.fromConfigName(config.getString(KEY_VELOCITY_STRATEGY))
+      }
     }
 
     override fun createEventBuilder(handler: PanGestureHandler) = PanGestureHandlerEventDataBuilder(handler)
@@ -404,6 +423,7 @@ class PanGestureHandler(context: Context?) : GestureHandler() {
       private const val KEY_MAX_POINTERS = "maxPointers"
       private const val KEY_AVG_TOUCHES = "avgTouches"
       private const val KEY_ACTIVATE_AFTER_LONG_PRESS = "activateAfterLongPress"
+      private const val KEY_VELOCITY_STRATEGY = "velocityStrategy"
     }
   }
 
@@ -425,19 +445,5 @@ class PanGestureHandler(context: Context?) : GestureHandler() {
     private const val DEFAULT_MIN_VELOCITY_X = MIN_VALUE_IGNORE
     private const val DEFAULT_MIN_VELOCITY_Y = MIN_VALUE_IGNORE
     private const val DEFAULT_MIN_VELOCITY = MIN_VALUE_IGNORE
-
-    /**
-     * This method adds movement to {@class VelocityTracker} first resetting offset of the event so
-     * that the velocity is calculated based on the absolute position of touch pointers. This is
-     * because if the underlying view moves along with the finger using relative x/y coords yields
-     * incorrect results.
-     */
-    private fun addVelocityMovement(tracker: VelocityTracker?, event: MotionEvent) {
-      val offsetX = event.rawX - event.x
-      val offsetY = event.rawY - event.y
-      event.offsetLocation(offsetX, offsetY)
-      tracker!!.addMovement(event)
-      event.offsetLocation(-offsetX, -offsetY)
-    }
   }
 }
@@ -19,48 +19,84 @@ class PinchGestureHandler : GestureHandler() {
   var focalPointY: Float = Float.NaN
     private set
 
-  private var scaleGestureDetector: ScaleGestureDetector? = null
+  private var isTrackingScale = false
+  private var isScaleInProgress = false
   private var startingSpan = 0f
+  private var initialSpan = 0f
+  private var previousSpan = 0f
+  private var previousSpanTime = 0L
   private var spanSlop = 0f
-  private val gestureListener: ScaleGestureDetector.OnScaleGestureListener = object :
-    ScaleGestureDetector.OnScaleGestureListener {
-    override fun onScale(detector: ScaleGestureDetector): Boolean {
+
+  override fun initialize(event: MotionEvent, sourceEvent: MotionEvent) {
+    resetProgress()
+    spanSlop = ViewConfiguration.get(view!!.context).scaledTouchSlop.toFloat()
+    isTrackingScale = true
+    isScaleInProgress = false
+    initialSpan = 0f
+
+    // set the focal point to the position of the first pointer as NaN causes the event not to arrive
+    this.focalPointX = event.x
+    this.focalPointY = event.y
+  }
+
+  /**
+   * Follows the span of the pointers the same way as the platform `ScaleGestureDetector` - scaling starts
+   * once the span changes by more than twice the touch slop and is restarted whenever a pointer is added
+   * or removed, so that the scale doesn't jump.
+   */
+  private fun updateScale(event: MotionEvent) {
+    val action = event.actionMasked
+
+    if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+      isScaleInProgress = false
+      initialSpan = 0f
+      return
+    }
+
+    val transform = obtainMultiTouchTransform().update(event)
+    val span = transform.span
+    val point = transformPoint(PointF(transform.focusX, transform.focusY))
+    this.focalPointX = point.x
+    this.focalPointY = point.y
+
+    val wasInProgress = isScaleInProgress
+    if (action == MotionEvent.ACTION_DOWN ||
+      action == MotionEvent.ACTION_POINTER_DOWN ||
+      action == MotionEvent.ACTION_POINTER_UP
+    ) {
+      isScaleInProgress = false
+      initialSpan = span
+      previousSpan = span
+    }
+
+    if (!isScaleInProgress && (wasInProgress || abs(span - initialSpan) > spanSlop * 2)) {
+      isScaleInProgress = true
+      startingSpan = span
+      previousSpan = span
+      previousSpanTime = event.eventTime
+    }
+
+    if (action != MotionEvent.ACTION_MOVE) {
+      return
+    }
+
+    if (isScaleInProgress) {
       val prevScaleFactor: Double = scale
-      scale *= detector.scaleFactor.toDouble()
-      val delta = detector.timeDeltaSeconds
+      scale *= if (previousSpan > 0) (span / previousSpan).toDouble() else 1.0
+      val delta = (event.eventTime - previousSpanTime) / 1000.0
 
       if (delta > 0) {
         velocity = (scale - prevScaleFactor) / delta
       }
-      if (abs(startingSpan - detector.currentSpan) >= spanSlop &&
+      if (abs(startingSpan - span) >= spanSlop &&
         state == STATE_BEGAN
       ) {
         activate()
       }
-      return true
-    }
-
-    override fun onScaleBegin(detector: ScaleGestureDetector): Boolean {
-      startingSpan = detector.currentSpan
-      return true
-    }
-
-    override fun onScaleEnd(detector: ScaleGestureDetector) {
-      // ScaleGestureDetector thinks that when fingers are 27mm away that's a sufficiently good
-      // reason to trigger this method giving us no other choice but to ignore it completely.
     }
-  }
-
-  override fun initialize(event: MotionEvent, sourceEvent: MotionEvent) {
-    val context = view!!.context
-    resetProgress()
-    scaleGestureDetector = ScaleGestureDetector(context, gestureListener)
-    val configuration = ViewConfiguration.get(context)
-    spanSlop = configuration.scaledTouchSlop.toFloat()
 
-    // set the focal point to the position of the first pointer as NaN causes the event not to arrive
-    this.focalPointX = event.x
-    this.focalPointY = event.y
+    previousSpan = span
+    previousSpanTime = event.eventTime
   }
 
   override fun onHandle(event: MotionEvent, sourceEvent: MotionEvent) {
@@ -81,11 +117,8 @@ class PinchGestureHandler : GestureHandler() {
       }
     }
 
-    scaleGestureDetector?.onTouchEvent(sourceEvent)
-    scaleGestureDetector?.let {
-      val point = transformPoint(PointF(it.focusX, it.focusY))
-      this.focalPointX = point.x
-      this.focalPointY = point.y
+    if (isTrackingScale) {
+      updateScale(sourceEvent)
     }
 
     if (sourceEvent.actionMasked == MotionEvent.ACTION_UP) {
@@ -106,7 +139,7 @@ class PinchGestureHandler : GestureHandler() {
   }
 
   override fun onReset() {
-    scaleGestureDetector = null
+    isTrackingScale = false
     focalPointX = Float.NaN
     focalPointY = Float.NaN
     resetProgress()
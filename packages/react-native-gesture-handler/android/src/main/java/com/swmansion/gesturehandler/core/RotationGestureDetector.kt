@@ -1,7 +1,6 @@
 package com.swmansion.gesturehandler.core
 
 import android.view.MotionEvent
-import kotlin.math.atan2
 
 class RotationGestureDetector(private val gestureListener: OnRotationGestureListener?) {
   interface OnRotationGestureListener {
@@ -52,30 +51,19 @@ class RotationGestureDetector(private val gestureListener: OnRotationGestureList
   private var isInProgress = false
   private val pointerIds = IntArray(2)
 
-  private fun updateCurrent(event: MotionEvent) {
+  private fun updateCurrent(event: MotionEvent, transform: MultiTouchTransform) {
     previousTime = currentTime
     currentTime = event.eventTime
-    val firstPointerIndex = event.findPointerIndex(pointerIds[0])
-    val secondPointerIndex = event.findPointerIndex(pointerIds[1])
 
-    if (
-      firstPointerIndex == MotionEvent.INVALID_POINTER_ID ||
-      secondPointerIndex == MotionEvent.INVALID_POINTER_ID
-    ) {
+    if (!transform.updatePair(event, pointerIds[0], pointerIds[1])) {
       return
     }
 
-    val firstPtX = event.getX(firstPointerIndex)
-    val firstPtY = event.getY(firstPointerIndex)
-    val secondPtX = event.getX(secondPointerIndex)
-    val secondPtY = event.getY(secondPointerIndex)
-    val vectorX = secondPtX - firstPtX
-    val vectorY = secondPtY - firstPtY
-    anchorX = (firstPtX + secondPtX) * 0.5f
-    anchorY = (firstPtY + secondPtY) * 0.5f
+    anchorX = transform.pairAnchorX
+    anchorY = transform.pairAnchorY
 
     // Angle diff should be positive when rotating in clockwise direction
-    val angle = -atan2(vectorY.toDouble(), vectorX.toDouble())
+    val angle = transform.pairAngle
 
     tryUnpause(angle)
 
@@ -126,7 +114,22 @@ class RotationGestureDetector(private val gestureListener: OnRotationGestureList
     }
   }
 
-  fun onTouchEvent(event: MotionEvent): Boolean {
+  /**
+   * Brings the detector back to its initial state, so that it can be reused for the next gesture.
+   */
+  fun reset() {
+    currentTime = 0L
+    previousTime = 0L
+    previousAngle = 0.0
+    rotation = 0.0
+    anchorX = 0f
+    anchorY = 0f
+    isInProgress = false
+    isPaused = false
+    pointerIds.fill(0)
+  }
+
+  fun onTouchEvent(event: MotionEvent, transform: MultiTouchTransform): Boolean {
     when (event.actionMasked) {
       MotionEvent.ACTION_DOWN -> {
         isInProgress = false
@@ -136,7 +139,7 @@ class RotationGestureDetector(private val gestureListener: OnRotationGestureList
       MotionEvent.ACTION_POINTER_DOWN -> {
         if (!isInProgress || isPaused) {
           pointerIds[1] = event.getPointerId(event.actionIndex)
-          updateCurrent(event)
+          updateCurrent(event, transform)
         }
         if (!isInProgress) {
           isInProgress = true
@@ -146,7 +149,7 @@ class RotationGestureDetector(private val gestureListener: OnRotationGestureList
         }
       }
       MotionEvent.ACTION_MOVE -> if (isInProgress) {
-        updateCurrent(event)
+        updateCurrent(event, transform)
         if (!isPaused) {
           gestureListener?.onRotation(this)
         }
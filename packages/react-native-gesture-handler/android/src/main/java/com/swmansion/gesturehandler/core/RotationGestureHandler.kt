@@ -10,7 +10,7 @@ import kotlin.math.abs
 class RotationGestureHandler : GestureHandler() {
   override val isContinuous = true
 
-  private var rotationGestureDetector: RotationGestureDetector? = null
+  private var isTrackingRotation = false
   var rotation = 0.0
     private set
   var velocity = 0.0
@@ -45,9 +45,12 @@ class RotationGestureHandler : GestureHandler() {
     }
   }
 
+  private val rotationGestureDetector = RotationGestureDetector(gestureListener)
+
   override fun initialize(event: MotionEvent, sourceEvent: MotionEvent) {
     resetProgress()
-    rotationGestureDetector = RotationGestureDetector(gestureListener)
+    rotationGestureDetector.reset()
+    isTrackingRotation = true
 
     // set the anchor to the position of the first pointer as NaN causes the event not to arrive
     this.anchorX = event.x
@@ -72,9 +75,12 @@ class RotationGestureHandler : GestureHandler() {
       }
     }
 
-    rotationGestureDetector?.onTouchEvent(sourceEvent)
-    rotationGestureDetector?.let {
-      val point = transformPoint(PointF(it.anchorX, it.anchorY))
+    if (isTrackingRotation) {
+      rotationGestureDetector.onTouchEvent(sourceEvent, obtainMultiTouchTransform())
+    }
+    // The detector may have ended the gesture, which resets the handler.
+    if (isTrackingRotation) {
+      val point = transformPoint(PointF(rotationGestureDetector.anchorX, rotationGestureDetector.anchorY))
       anchorX = point.x
       anchorY = point.y
     }
@@ -98,7 +104,7 @@ class RotationGestureHandler : GestureHandler() {
   }
 
   override fun onReset() {
-    rotationGestureDetector = null
+    isTrackingRotation = false
     anchorX = Float.NaN
     anchorY = Float.NaN
     resetProgress()
@@ -1,8 +1,6 @@
 package com.swmansion.gesturehandler.core
 
 import android.content.Context
-import android.os.Handler
-import android.os.Looper
 import android.view.MotionEvent
 import com.facebook.react.bridge.ReadableMap
 import com.facebook.react.uimanager.PixelUtil
@@ -26,9 +24,7 @@ class TapGestureHandler : GestureHandler() {
   private var offsetY = 0f
   private var lastX = 0f
   private var lastY = 0f
-  private val handler = Handler(Looper.getMainLooper())
   private var tapsSoFar = 0
-  private val failDelayed = Runnable { fail() }
 
   init {
     shouldCancelWhenOutside = true
@@ -47,16 +43,15 @@ class TapGestureHandler : GestureHandler() {
   }
 
   private fun startTap() {
-    handler.removeCallbacksAndMessages(null)
-    handler.postDelayed(failDelayed, maxDurationMs)
+    scheduleTimeout(maxDurationMs)
   }
 
   private fun endTap() {
-    handler.removeCallbacksAndMessages(null)
     if (++tapsSoFar == numberOfTaps && currentMaxNumberOfPointers >= minNumberOfPointers) {
+      cancelTimeout()
       activate()
     } else {
-      handler.postDelayed(failDelayed, maxDelayMs)
+      scheduleTimeout(maxDelayMs)
     }
   }
 
@@ -130,14 +125,18 @@ class TapGestureHandler : GestureHandler() {
     end()
   }
 
+  override fun onTimeout() {
+    fail()
+  }
+
   override fun onCancel() {
-    handler.removeCallbacksAndMessages(null)
+    cancelTimeout()
   }
 
   override fun onReset() {
     tapsSoFar = 0
     currentMaxNumberOfPointers = 0
-    handler.removeCallbacksAndMessages(null)
+    cancelTimeout()
   }
 
   class Factory : GestureHandler.Factory<TapGestureHandler>() {
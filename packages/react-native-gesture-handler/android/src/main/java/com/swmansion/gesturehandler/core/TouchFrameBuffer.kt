@@ -0,0 +1,48 @@
+package com.swmansion.gesturehandler.core
+
+import com.facebook.react.bridge.Arguments
+import com.facebook.react.bridge.WritableArray
+
+/**
+ * Data of the pointers sent with a single touch event, kept in primitive arrays. It's converted
+ * into a `WritableArray` only when the event is actually dispatched, see `toWritableArray`.
+ */
+class TouchFrameBuffer(capacity: Int) {
+  private val ids = IntArray(capacity)
+  private val x = FloatArray(capacity)
+  private val y = FloatArray(capacity)
+  private val absoluteX = FloatArray(capacity)
+  private val absoluteY = FloatArray(capacity)
+
+  var size = 0
+    private set
+
+  fun isEmpty() = size == 0
+
+  fun clear() {
+    size = 0
+  }
+
+  fun add(pointerId: Int, x: Float, y: Float, absoluteX: Float, absoluteY: Float) {
+    this.ids[size] = pointerId
+    this.x[size] = x
+    this.y[size] = y
+    this.absoluteX[size] = absoluteX
+    this.absoluteY[size] = absoluteY
+    size++
+  }
+
+  fun toWritableArray(density: Float): WritableArray = Arguments.createArray().apply {
+    for (i in 0 until size) {
+      pushMap(
+        Arguments.createMap().apply {
+          putInt("id", ids[i])
+          putDouble("x", (x[i] / density).toDouble())
+          putDouble("y", (y[i] / density).toDouble())
+          putDouble("absoluteX", (absoluteX[i] / density).toDouble())
+          putDouble("absoluteY", (absoluteY[i] / density).toDouble())
+        },
+      )
+    }
+  }
+}
@@ -0,0 +1,352 @@
+package com.swmansion.gesturehandler.core
+
+import android.view.MotionEvent
+import kotlin.math.abs
+import kotlin.math.exp
+import kotlin.math.sign
+import kotlin.math.sqrt
+
+/**
+ * Estimates velocity of pointers from their recent positions, replacing `VelocityTracker`.
+ *
+ * Samples of every pointer are kept in a ring buffer of primitive arrays, so adding samples and computing
+ * velocity doesn't allocate and the estimator can be kept by the handler and reused between gestures. Only
+ * samples from the last `HORIZON_NS` which are not separated by a pause longer than `ASSUME_POINTER_STOPPED_NS`
+ * are taken into account, the same as in the platform implementation.
+ *
+ * Apart from the action constants of `MotionEvent`, the class doesn't depend on the Android framework -
+ * events are fed through the `addMovement` extension defined below.
+ */
+class VelocityEstimator {
+  enum class Strategy(val configName: String) {
+    /**
+     * Derivative of a second degree polynomial fitted with least squares, the default strategy of
+     * `VelocityTracker`.
+     */
+    LEAST_SQUARES("leastSquares"),
+
+    /**
+     * Velocity derived from the kinetic energy imparted by consecutive movements, reacts faster to
+     * sudden changes of direction.
+     */
+    IMPULSE("impulse"),
+
+    /**
+     * Exponentially smoothed velocity between consecutive samples, the least sensitive to jitter of
+     * high frequency input, e.g. 240 Hz stylus.
+     */
+    EXPONENTIAL_SMOOTHING("exponentialSmoothing"),
+    ;
+
+    companion object {
+      val DEFAULT = LEAST_SQUARES
+
+      /**
+       * Returns the strategy with the given name used in handler configs, or `DEFAULT` if there is none.
+       */
+      fun fromConfigName(name: String?) = values().firstOrNull { it.configName == name } ?: DEFAULT
+    }
+  }
+
+  private class PointerHistory {
+    val times = LongArray(HISTORY_SIZE)
+    val xs = FloatArray(HISTORY_SIZE)
+    val ys = FloatArray(HISTORY_SIZE)
+    var newestIndex = -1
+    var sampleCount = 0
+
+    fun clear() {
+      newestIndex = -1
+      sampleCount = 0
+    }
+
+    fun indexOf(age: Int) = (newestIndex - age + HISTORY_SIZE) % HISTORY_SIZE
+
+    // Time of the sample relative to the newest one, in milliseconds (non-positive). Velocities are
+    // computed in pixels per millisecond to keep the fitted values in a well-conditioned range.
+    fun timeOf(age: Int) = (times[indexOf(age)] - times[newestIndex]) * NANOS_TO_MILLISECONDS
+
+    fun countRecentSamples(): Int {
+      if (sampleCount == 0) {
+        return 0
+      }
+
+      val newestTime = times[newestIndex]
+      var count = 1
+
+      while (count < sampleCount) {
+        val time = times[indexOf(count)]
+
+        if (newestTime - time > HORIZON_NS || times[indexOf(count - 1)] - time > ASSUME_POINTER_STOPPED_NS) {
+          break
+        }
+
+        count++
+      }
+
+      return count
+    }
+  }
+
+  var strategy = Strategy.DEFAULT
+
+  /**
+   * in pixels per second, updated by `computeVelocity`
+   */
+  var velocityX = 0f
+    private set
+  var velocityY = 0f
+    private set
+
+  /**
+   * Id of the pointer whose velocity is computed. Same as in `VelocityTracker`, it's the first pointer
+   * placed on the screen until it's lifted, then the one with the lowest id, see `addMovement`.
+   */
+  var activePointerId = NO_POINTER
+
+  // Created when a pointer with the given id is seen for the first time, then reused.
+  private val histories = arrayOfNulls<PointerHistory>(MAX_POINTER_ID + 1)
+  private var lastMovementTimeNs = NO_TIME
+
+  fun reset() {
+    for (history in histories) {
+      history?.clear()
+    }
+
+    activePointerId = NO_POINTER
+    lastMovementTimeNs = NO_TIME
+    velocityX = 0f
+    velocityY = 0f
+  }
+
+  /**
+   * Updates the history for an event with the given action, mirroring `VelocityTracker.addMovement`,
+   * and returns whether positions of the event's pointers should be added with `addSample`:
+   * - `ACTION_DOWN` clears the history, `ACTION_POINTER_DOWN` clears the history of the new pointer,
+   * - `ACTION_UP` and `ACTION_POINTER_UP` only report the last known positions at a later time, which
+   *   would lower the velocity, so they are skipped. If no movement has been seen for longer than
+   *   `ASSUME_POINTER_STOPPED_NS`, the pointers are assumed to have stopped and the history is cleared,
+   * - other actions, e.g. `ACTION_CANCEL`, are ignored.
+   */
+  fun startMovement(action: Int, actionPointerId: Int, timeNs: Long): Boolean {
+    when (action) {
+      MotionEvent.ACTION_DOWN, MotionEvent.ACTION_HOVER_ENTER -> reset()
+      MotionEvent.ACTION_POINTER_DOWN -> histories.getOrNull(actionPointerId)?.clear()
+      MotionEvent.ACTION_MOVE, MotionEvent.ACTION_HOVER_MOVE -> Unit
+      MotionEvent.ACTION_UP, MotionEvent.ACTION_POINTER_UP -> {
+        if (lastMovementTimeNs != NO_TIME && timeNs - lastMovementTimeNs > ASSUME_POINTER_STOPPED_NS) {
+          reset()
+        }
+
+        return false
+      }
+      else -> return false
+    }
+
+    lastMovementTimeNs = timeNs
+    return true
+  }
+
+  fun addSample(pointerId: Int, timeNs: Long, x: Float, y: Float) {
+    if (pointerId < 0 || pointerId > MAX_POINTER_ID) {
+      return
+    }
+
+    val history = histories[pointerId] ?: PointerHistory().also { histories[pointerId] = it }
+
+    if (activePointerId == NO_POINTER) {
+      activePointerId = pointerId
+    }
+
+    with(history) {
+      if (sampleCount > 0 && timeNs <= times[newestIndex]) {
+        // Samples with the same timestamp, the newer position replaces the older one.
+        xs[newestIndex] = x
+        ys[newestIndex] = y
+        return
+      }
+
+      newestIndex = (newestIndex + 1) % HISTORY_SIZE
+      times[newestIndex] = timeNs
+      xs[newestIndex] = x
+      ys[newestIndex] = y
+
+      if (sampleCount < HISTORY_SIZE) {
+        sampleCount++
+      }
+    }
+  }
+
+  fun computeVelocity() {
+    val history = histories.getOrNull(activePointerId)
+    val count = history?.countRecentSamples() ?: 0
+
+    if (history == null || count < 2) {
+      velocityX = 0f
+      velocityY = 0f
+      return
+    }
+
+    when (strategy) {
+      Strategy.LEAST_SQUARES -> {
+        velocityX = (computeLeastSquares(history, history.xs, count) * MILLISECONDS_PER_SECOND).toFloat()
+        velocityY = (computeLeastSquares(history, history.ys, count) * MILLISECONDS_PER_SECOND).toFloat()
+      }
+      Strategy.IMPULSE -> {
+        velocityX = (computeImpulse(history, history.xs, count) * MILLISECONDS_PER_SECOND).toFloat()
+        velocityY = (computeImpulse(history, history.ys, count) * MILLISECONDS_PER_SECOND).toFloat()
+      }
+      Strategy.EXPONENTIAL_SMOOTHING -> {
+        velocityX = (computeExponentialSmoothing(history, history.xs, count) * MILLISECONDS_PER_SECOND).toFloat()
+        velocityY = (computeExponentialSmoothing(history, history.ys, count) * MILLISECONDS_PER_SECOND).toFloat()
+      }
+    }
+  }
+
+  private fun computeLeastSquares(history: PointerHistory, positions: FloatArray, count: Int): Double {
+    // Fits p(t) = b0 + b1 * t + b2 * t^2 where t is relative to the newest sample, so velocity at the
+    // newest sample is b1. The 3x3 system of normal equations is solved with Cramer's rule.
+    var s1 = 0.0
+    var s2 = 0.0
+    var s3 = 0.0
+    var s4 = 0.0
+    var sp = 0.0
+    var stp = 0.0
+    var st2p = 0.0
+
+    for (age in 0 until count) {
+      val t = history.timeOf(age)
+      val t2 = t * t
+      val p = positions[history.indexOf(age)].toDouble()
+
+      s1 += t
+      s2 += t2
+      s3 += t2 * t
+      s4 += t2 * t2
+      sp += p
+      stp += t * p
+      st2p += t2 * p
+    }
+
+    val s0 = count.toDouble()
+
+    if (count > 2) {
+      val determinant = s0 * (s2 * s4 - s3 * s3) - s1 * (s1 * s4 - s3 * s2) + s2 * (s1 * s3 - s2 * s2)
+
+      if (abs(determinant) > MIN_DETERMINANT) {
+        return (s0 * (stp * s4 - s3 * st2p) - sp * (s1 * s4 - s3 * s2) + s2 * (s1 * st2p - stp * s2)) / determinant
+      }
+    }
+
+    // Not enough distinct samples for a quadratic fit, fall back to a linear one.
+    val determinant = s0 * s2 - s1 * s1
+
+    return if (abs(determinant) > MIN_DETERMINANT) (s0 * stp - s1 * sp) / determinant else 0.0
+  }
+
+  private fun computeImpulse(history: PointerHistory, positions: FloatArray, count: Int): Double {
+    // Accumulates work done by consecutive movements, starting from the oldest sample, and converts it
+    // back to velocity assuming unit mass (E = v^2 / 2).
+    var work = 0.0
+
+    for (age in count - 1 downTo 1) {
+      val dt = history.timeOf(age - 1) - history.timeOf(age)
+      val currentVelocity = (positions[history.indexOf(age - 1)] - positions[history.indexOf(age)]) / dt
+      val previousVelocity = kineticEnergyToVelocity(work)
+
+      work += (currentVelocity - previousVelocity) * abs(currentVelocity)
+
+      if (age == count - 1) {
+        // The first movement starts from rest, so only half of the energy is gained.
+        work *= 0.5
+      }
+    }
+
+    return kineticEnergyToVelocity(work)
+  }
+
+  private fun computeExponentialSmoothing(history: PointerHistory, positions: FloatArray, count: Int): Double {
+    var velocity = 0.0
+
+    for (age in count - 1 downTo 1) {
+      val dt = history.timeOf(age - 1) - history.timeOf(age)
+      val currentVelocity = (positions[history.indexOf(age - 1)] - positions[history.indexOf(age)]) / dt
+
+      velocity = if (age == count - 1) {
+        currentVelocity
+      } else {
+        velocity + (currentVelocity - velocity) * (1 - exp(-dt / SMOOTHING_TIME_CONSTANT_MS))
+      }
+    }
+
+    return velocity
+  }
+
+  private fun kineticEnergyToVelocity(work: Double) = sign(work) * sqrt(2 * abs(work))
+
+  companion object {
+    // Enough for 100ms of 240 Hz input.
+    private const val HISTORY_SIZE = 32
+    private const val HORIZON_NS = 100_000_000L
+    private const val ASSUME_POINTER_STOPPED_NS = 40_000_000L
+    private const val NANOS_TO_MILLISECONDS = 1e-6
+    private const val MILLISECONDS_PER_SECOND = 1000.0
+    private const val SMOOTHING_TIME_CONSTANT_MS = 20.0
+    private const val MIN_DETERMINANT = 1e-9
+    private const val NO_TIME = -1L
+
+    // Pointer ids of `MotionEvent`s are always in the range of 0..31.
+    private const val MAX_POINTER_ID = 31
+    internal const val NO_POINTER = -1
+  }
+}
+
+/**
+ * Adds positions of the event's pointers, including the batched historical ones, the same way
+ * `VelocityTracker.addMovement` does. Absolute positions are used, because if the underlying view moves
+ * along with the finger using relative x/y coords yields incorrect results.
+ *
+ * The active pointer is kept until it's lifted, then the estimator switches to the remaining pointer with
+ * the lowest id, whose samples have been collected since it was placed on the screen.
+ */
+fun VelocityEstimator.addMovement(event: MotionEvent) {
+  val actionPointerId = event.getPointerId(event.actionIndex)
+
+  if (!startMovement(event.actionMasked, actionPointerId, event.eventTime * NANOS_PER_MILLISECOND)) {
+    return
+  }
+
+  if (activePointerId == VelocityEstimator.NO_POINTER || event.findPointerIndex(activePointerId) == -1) {
+    var lowestPointerId = event.getPointerId(0)
+
+    for (i in 1 until event.pointerCount) {
+      lowestPointerId = minOf(lowestPointerId, event.getPointerId(i))
+    }
+
+    activePointerId = lowestPointerId
+  }
+
+  val offsetX = event.rawX - event.x
+  val offsetY = event.rawY - event.y
+
+  for (h in 0 until event.historySize) {
+    val timeNs = event.getHistoricalEventTime(h) * NANOS_PER_MILLISECOND
+
+    for (i in 0 until event.pointerCount) {
+      addSample(
+        event.getPointerId(i),
+        timeNs,
+        event.getHistoricalX(i, h) + offsetX,
+        event.getHistoricalY(i, h) + offsetY,
+      )
+    }
+  }
+
+  val timeNs = event.eventTime * NANOS_PER_MILLISECOND
+
+  for (i in 0 until event.pointerCount) {
+    addSample(event.getPointerId(i), timeNs, event.getX(i) + offsetX, event.getY(i) + offsetY)
+  }
+}
+
+private const val NANOS_PER_MILLISECOND = 1_000_000L
@@ -5,11 +5,23 @@ import android.content.Context
 import android.content.ContextWrapper
 import android.view.Display
 import android.view.MotionEvent
+import android.view.View
 import android.view.accessibility.AccessibilityManager
 import com.facebook.react.bridge.ReactContext
 import com.facebook.react.modules.core.DeviceEventManagerModule
+import com.facebook.react.uimanager.UIManagerHelper
 import com.swmansion.gesturehandler.core.GestureHandler
 
+/**
+ * Surface id to be used by events sent from the view. It's cached by detectors, which are the targets
+ * of all events of handlers attached through them.
+ */
+fun View.surfaceIdForEvents(): Int = if (this is RNGestureHandlerDetectorView) {
+  surfaceId
+} else {
+  UIManagerHelper.getSurfaceId(this)
+}
+
 val ReactContext.deviceEventEmitter: DeviceEventManagerModule.RCTDeviceEventEmitter
   get() = this.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter::class.java)
 
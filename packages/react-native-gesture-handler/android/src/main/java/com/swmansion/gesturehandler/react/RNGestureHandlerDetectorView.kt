@@ -8,6 +8,7 @@ import com.facebook.react.bridge.ReadableArray
 import com.facebook.react.uimanager.ThemedReactContext
 import com.facebook.react.uimanager.UIManagerHelper
 import com.facebook.react.uimanager.events.Event
+import com.facebook.react.uimanager.events.EventDispatcher
 import com.facebook.react.views.swiperefresh.ReactSwipeRefreshLayout
 import com.facebook.react.views.view.ReactViewGroup
 import com.swmansion.gesturehandler.core.GestureHandler
@@ -24,6 +25,14 @@ class RNGestureHandlerDetectorView(context: Context) : ReactViewGroup(context) {
   private var subscribedVirtualHandlers: MutableMap<Int, MutableSet<Int>> = mutableMapOf()
   private var moduleId: Int = -1
 
+  // Resolved once instead of for every dispatched event, reset when the view is attached, detached
+  // or gets a new tag. Every Int is a valid result, -1 is returned on the old architecture.
+  private var cachedSurfaceId: Int? = null
+  private var cachedEventDispatcher: EventDispatcher? = null
+
+  val surfaceId: Int
+    get() = cachedSurfaceId ?: UIManagerHelper.getSurfaceId(this).also { cachedSurfaceId = it }
+
   data class VirtualChildren(val handlerTags: List<Int>, val viewTag: Int)
 
   fun setHandlerTags(handlerTags: ReadableArray?) {
@@ -33,8 +42,14 @@ class RNGestureHandlerDetectorView(context: Context) : ReactViewGroup(context) {
     }
   }
 
+  override fun setId(id: Int) {
+    super.setId(id)
+    invalidateEventsTarget()
+  }
+
   override fun onAttachedToWindow() {
     super.onAttachedToWindow()
+    invalidateEventsTarget()
     if (moduleId != -1) {
       attachHandlers(handlersToAttach)
       attachVirtualChildren(virtualChildrenToAttach)
@@ -42,6 +57,7 @@ class RNGestureHandlerDetectorView(context: Context) : ReactViewGroup(context) {
   }
 
   override fun onDetachedFromWindow() {
+    invalidateEventsTarget()
     detachAllHandlers()
     super.onDetachedFromWindow()
   }
@@ -242,10 +258,16 @@ class RNGestureHandlerDetectorView(context: Context) : ReactViewGroup(context) {
   }
 
   fun dispatchEvent(event: Event<*>) {
-    val eventDispatcher = UIManagerHelper.getEventDispatcherForReactTag(reactContext, id)
+    val eventDispatcher = cachedEventDispatcher
+      ?: UIManagerHelper.getEventDispatcherForReactTag(reactContext, id)?.also { cachedEventDispatcher = it }
     eventDispatcher?.dispatchEvent(event)
   }
 
+  private fun invalidateEventsTarget() {
+    cachedSurfaceId = null
+    cachedEventDispatcher = null
+  }
+
   fun detachAllHandlers() {
     RNGestureHandlerModule.registries[moduleId]?.let { registry ->
       registry.cancelAllObservationsForOwner(this)
@@ -24,11 +24,17 @@ object RNGestureHandlerFactoryUtil {
     HoverGestureHandler.Factory(),
   )
 
+  // Factories are looked up for every dispatched event, so they are indexed instead of searched.
+  private val factoriesByType: Map<Class<*>, GestureHandler.Factory<*>> =
+    handlerFactories.associateBy { it.type }
+  private val factoriesByName: Map<String, GestureHandler.Factory<*>> =
+    handlerFactories.associateBy { it.name }
+
   @Suppress("UNCHECKED_CAST")
   fun <T : GestureHandler> findFactoryForHandler(handler: GestureHandler): GestureHandler.Factory<GestureHandler>? =
-    handlerFactories.firstOrNull { it.type == handler.javaClass } as GestureHandler.Factory<GestureHandler>?
+    factoriesByType[handler.javaClass] as GestureHandler.Factory<GestureHandler>?
 
   @Suppress("UNCHECKED_CAST")
   fun <T : GestureHandler> findFactoryForName(handlerName: String): GestureHandler.Factory<GestureHandler>? =
-    handlerFactories.firstOrNull { it.name == handlerName } as GestureHandler.Factory<GestureHandler>?
+    factoriesByName[handlerName] as GestureHandler.Factory<GestureHandler>?
 }
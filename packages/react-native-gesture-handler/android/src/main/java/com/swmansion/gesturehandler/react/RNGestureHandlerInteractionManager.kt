@@ -5,13 +5,49 @@ import com.facebook.react.bridge.ReadableMap
 import com.swmansion.gesturehandler.core.GestureHandler
 import com.swmansion.gesturehandler.core.GestureHandlerInteractionController
 import com.swmansion.gesturehandler.core.NativeViewGestureHandler
+import java.util.Arrays
 
 class RNGestureHandlerInteractionManager : GestureHandlerInteractionController {
+  // Tags of related handlers are kept sorted, so that lookups can use binary search.
   private val waitForRelations = SparseArray<IntArray>()
   private val simultaneousRelations = SparseArray<IntArray>()
   private val blockingRelations = SparseArray<IntArray>()
 
+  private var isBatching = false
+  private var hasBatchedChanges = false
+
+  /**
+   * Runs `block` invalidating cached relations of the orchestrators once at the end, instead of after
+   * every handler configured or dropped in it.
+   */
+  fun batch(block: () -> Unit) {
+    check(!isBatching) { "Interaction manager batches cannot be nested" }
+    isBatching = true
+    try {
+      block()
+    } finally {
+      isBatching = false
+      if (hasBatchedChanges) {
+        hasBatchedChanges = false
+        GestureHandler.invalidateRelations()
+      }
+    }
+  }
+
+  private fun invalidateRelations() {
+    if (isBatching) {
+      hasBatchedChanges = true
+    } else {
+      GestureHandler.invalidateRelations()
+    }
+  }
+
   fun dropRelationsForHandlerWithTag(handlerTag: Int) {
+    dropRelationsForHandlerWithTagInternal(handlerTag)
+    invalidateRelations()
+  }
+
+  private fun dropRelationsForHandlerWithTagInternal(handlerTag: Int) {
     waitForRelations.remove(handlerTag)
     simultaneousRelations.remove(handlerTag)
     blockingRelations.remove(handlerTag)
@@ -23,10 +59,16 @@ class RNGestureHandlerInteractionManager : GestureHandlerInteractionController {
       for (i in it.indices) {
         it[i] = array.getInt(i)
       }
+      it.sort()
     }
   }
 
   fun configureInteractions(handler: GestureHandler, config: ReadableMap) {
+    configureInteractionsInternal(handler, config)
+    invalidateRelations()
+  }
+
+  private fun configureInteractionsInternal(handler: GestureHandler, config: ReadableMap) {
     handler.setInteractionController(this)
     if (config.hasKey(KEY_WAIT_FOR)) {
       val tags = convertHandlerTagsArray(config, KEY_WAIT_FOR)
@@ -42,11 +84,14 @@ class RNGestureHandlerInteractionManager : GestureHandlerInteractionController {
     }
   }
 
+  private fun hasRelation(relations: SparseArray<IntArray>, handler: GestureHandler, otherHandler: GestureHandler) =
+    relations[handler.tag]?.let { Arrays.binarySearch(it, otherHandler.tag) >= 0 } ?: false
+
   override fun shouldWaitForHandlerFailure(handler: GestureHandler, otherHandler: GestureHandler) =
-    waitForRelations[handler.tag]?.any { tag -> tag == otherHandler.tag } ?: false
+    hasRelation(waitForRelations, handler, otherHandler)
 
   override fun shouldRequireHandlerToWaitForFailure(handler: GestureHandler, otherHandler: GestureHandler) =
-    blockingRelations[handler.tag]?.any { tag -> tag == otherHandler.tag } ?: false
+    hasRelation(blockingRelations, handler, otherHandler)
 
   override fun shouldHandlerBeCancelledBy(handler: GestureHandler, otherHandler: GestureHandler): Boolean {
     if (otherHandler is NativeViewGestureHandler) {
@@ -60,12 +105,13 @@ class RNGestureHandlerInteractionManager : GestureHandlerInteractionController {
     return false
   }
   override fun shouldRecognizeSimultaneously(handler: GestureHandler, otherHandler: GestureHandler) =
-    simultaneousRelations[handler.tag]?.any { tag -> tag == otherHandler.tag } ?: false
+    hasRelation(simultaneousRelations, handler, otherHandler)
 
   fun reset() {
     waitForRelations.clear()
     simultaneousRelations.clear()
     blockingRelations.clear()
+    GestureHandler.invalidateRelations()
   }
 
   companion object {
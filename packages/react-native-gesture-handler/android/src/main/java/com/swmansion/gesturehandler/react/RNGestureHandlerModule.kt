@@ -11,11 +11,14 @@ import com.facebook.react.module.annotations.ReactModule
 import com.facebook.react.turbomodule.core.interfaces.BindingsInstallerHolder
 import com.facebook.react.turbomodule.core.interfaces.TurboModuleWithJSIBindings
 import com.facebook.soloader.SoLoader
+import com.swmansion.gesturehandler.BuildConfig
 import com.swmansion.gesturehandler.NativeRNGestureHandlerModuleSpec
 import com.swmansion.gesturehandler.core.GestureHandler
 import com.swmansion.gesturehandler.react.events.RNGestureHandlerEventDispatcher
 import java.lang.ref.WeakReference
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicBoolean
 
 @ReactModule(name = RNGestureHandlerModule.NAME)
 class RNGestureHandlerModule(reactContext: ReactApplicationContext?) :
@@ -23,10 +26,27 @@ class RNGestureHandlerModule(reactContext: ReactApplicationContext?) :
   TurboModuleWithJSIBindings {
 
   private val moduleId = nextModuleId++
-  private val eventDispatcher = RNGestureHandlerEventDispatcher(reactApplicationContext)
+  private val eventDispatcher = RNGestureHandlerEventDispatcher(reactApplicationContext).apply {
+    isUpdateEventsBatchingEnabled = BuildConfig.RNGH_BATCH_UPDATE_EVENTS
+  }
   private val interactionManager = RNGestureHandlerInteractionManager()
   private val roots: MutableList<RNGestureHandlerRootHelper> = ArrayList()
 
+  // Operations scheduled by JS are applied together in `flushOperations`, like on iOS. JS flushes
+  // them at the end of the same task, so mounting many handlers results in a single registry
+  // transaction and a single post to the UI thread. The queue is only flushed from the native
+  // modules thread, config updates coming from the UI runtime (shared value bindings) are applied
+  // right away.
+  private var operations = ArrayList<() -> Unit>()
+
+  // State requests made off the UI thread, packed as `handlerTag << 32 | state`.
+  private val stateRequests = ConcurrentLinkedQueue<Long>()
+  private val stateRequestsFlushScheduled = AtomicBoolean(false)
+  private val flushStateRequestsRunnable = Runnable {
+    stateRequestsFlushScheduled.set(false)
+    flushGestureHandlerStateRequests()
+  }
+
   @DoNotStrip
   @Suppress("unused")
   private var mHybridData: HybridData = initHybrid()
@@ -62,11 +82,19 @@ class RNGestureHandlerModule(reactContext: ReactApplicationContext?) :
     handlerFactory.setConfig(handler, config)
   }
 
+  private fun addOperation(operation: () -> Unit) {
+    synchronized(this) {
+      operations.add(operation)
+    }
+  }
+
   @ReactMethod
   override fun createGestureHandler(handlerName: String, handlerTagDouble: Double, config: ReadableMap) {
     val handlerTag = handlerTagDouble.toInt()
 
-    createGestureHandlerHelper<GestureHandler>(handlerName, handlerTag, config)
+    addOperation {
+      createGestureHandlerHelper<GestureHandler>(handlerName, handlerTag, config)
+    }
   }
 
   @ReactMethod
@@ -74,6 +102,13 @@ class RNGestureHandlerModule(reactContext: ReactApplicationContext?) :
     val handlerTag = handlerTagDouble.toInt()
     val viewTag = viewTagDouble.toInt()
     val actionType = actionTypeDouble.toInt()
+
+    addOperation {
+      attachGestureHandlerSync(handlerTag, viewTag, actionType)
+    }
+  }
+
+  private fun attachGestureHandlerSync(handlerTag: Int, viewTag: Int, actionType: Int) {
     // We don't have to handle view flattening in any special way since handlers are stored as
     // a map: viewTag -> [handler]. If the view with attached handlers was to be flattened
     // then that viewTag simply wouldn't be visited when traversing the view hierarchy in the
@@ -86,6 +121,13 @@ class RNGestureHandlerModule(reactContext: ReactApplicationContext?) :
   @ReactMethod
   override fun setGestureHandlerConfig(handlerTagDouble: Double, config: ReadableMap) {
     val handlerTag = handlerTagDouble.toInt()
+
+    addOperation {
+      setGestureHandlerConfigSync(handlerTag, config)
+    }
+  }
+
+  private fun setGestureHandlerConfigSync(handlerTag: Int, config: ReadableMap) {
     val handler = registry.getHandler(handlerTag) ?: return
     val factory = RNGestureHandlerFactoryUtil.findFactoryForHandler<GestureHandler>(handler) ?: return
 
@@ -95,6 +137,21 @@ class RNGestureHandlerModule(reactContext: ReactApplicationContext?) :
   @ReactMethod
   override fun updateGestureHandlerConfig(handlerTagDouble: Double, config: ReadableMap) {
     val handlerTag = handlerTagDouble.toInt()
+
+    // Updates made by shared value bindings on the UI runtime are not part of any JS batch.
+    if (UiThreadUtil.isOnUiThread()) {
+      updateGestureHandlerConfigSync(handlerTag, config)
+      return
+    }
+
+    // Has to be queued as well, otherwise it could be overridden by an earlier, not yet flushed,
+    // `setGestureHandlerConfig`.
+    addOperation {
+      updateGestureHandlerConfigSync(handlerTag, config)
+    }
+  }
+
+  private fun updateGestureHandlerConfigSync(handlerTag: Int, config: ReadableMap) {
     val handler = registry.getHandler(handlerTag) ?: return
     val factory = RNGestureHandlerFactoryUtil.findFactoryForHandler<GestureHandler>(handler) ?: return
 
@@ -104,6 +161,13 @@ class RNGestureHandlerModule(reactContext: ReactApplicationContext?) :
   @ReactMethod
   override fun configureRelations(handlerTagDouble: Double, relations: ReadableMap) {
     val handlerTag = handlerTagDouble.toInt()
+
+    addOperation {
+      configureRelationsSync(handlerTag, relations)
+    }
+  }
+
+  private fun configureRelationsSync(handlerTag: Int, relations: ReadableMap) {
     val handler = registry.getHandler(handlerTag) ?: return
 
     interactionManager.dropRelationsForHandlerWithTag(handlerTag)
@@ -113,12 +177,53 @@ class RNGestureHandlerModule(reactContext: ReactApplicationContext?) :
   @ReactMethod
   override fun dropGestureHandler(handlerTagDouble: Double) {
     val handlerTag = handlerTagDouble.toInt()
-    interactionManager.dropRelationsForHandlerWithTag(handlerTag)
-    registry.dropHandler(handlerTag)
+
+    addOperation {
+      interactionManager.dropRelationsForHandlerWithTag(handlerTag)
+      registry.dropHandler(handlerTag)
+    }
   }
 
   @ReactMethod
-  override fun flushOperations() = Unit
+  override fun flushOperations() {
+    // The UI runtime calls it after `updateGestureHandlerConfig`, which is already applied then.
+    // Flushing the queue there could run its operations concurrently with, and out of order
+    // relative to, a flush on the native modules thread.
+    if (UiThreadUtil.isOnUiThread()) {
+      return
+    }
+
+    val operationsToFlush = synchronized(this) {
+      if (operations.isEmpty()) {
+        return
+      }
+
+      operations.also { operations = ArrayList() }
+    }
+
+    // A failing operation must not take the rest of the batch down with it, so all of them are
+    // applied and the first error is rethrown afterwards.
+    var error: Exception? = null
+
+    registry.batch {
+      interactionManager.batch {
+        for (operation in operationsToFlush) {
+          try {
+            operation()
+          } catch (e: Exception) {
+            val firstError = error
+            if (firstError == null) {
+              error = e
+            } else {
+              firstError.addSuppressed(e)
+            }
+          }
+        }
+      }
+    }
+
+    error?.let { throw it }
+  }
 
   @ReactMethod
   override fun installUIRuntimeBindings(): Boolean {
@@ -133,14 +238,35 @@ class RNGestureHandlerModule(reactContext: ReactApplicationContext?) :
   @Suppress("unused")
   fun setGestureHandlerState(handlerTag: Int, newState: Int) {
     if (UiThreadUtil.isOnUiThread()) {
+      // Apply requests made from other threads first to keep them in order.
+      flushGestureHandlerStateRequests()
       setGestureStateSync(handlerTag, newState)
     } else {
-      UiThreadUtil.runOnUiThread {
-        setGestureStateSync(handlerTag, newState)
+      stateRequests.add((handlerTag.toLong() shl 32) or (newState.toLong() and 0xFFFFFFFFL))
+      if (stateRequestsFlushScheduled.compareAndSet(false, true)) {
+        UiThreadUtil.runOnUiThread(flushStateRequestsRunnable)
       }
     }
   }
 
+  /**
+   * Applies state changes requested off the UI thread. Root helpers call it around every touch event,
+   * otherwise it runs from a single post scheduled by the first pending request. Consecutive identical
+   * requests are coalesced, other ones are applied in order, as every transition matters.
+   */
+  fun flushGestureHandlerStateRequests() {
+    var previousRequest = NO_STATE_REQUEST
+    while (true) {
+      val request = stateRequests.poll() ?: break
+      if (request == previousRequest) {
+        continue
+      }
+
+      previousRequest = request
+      setGestureStateSync((request shr 32).toInt(), request.toInt())
+    }
+  }
+
   private fun setGestureStateSync(handlerTag: Int, newState: Int) {
     UiThreadUtil.assertOnUiThread()
 
@@ -171,6 +297,10 @@ class RNGestureHandlerModule(reactContext: ReactApplicationContext?) :
   override fun getBindingsInstaller() = getBindingsInstallerCxx()
 
   override fun invalidate() {
+    synchronized(this) {
+      operations.clear()
+    }
+    stateRequests.clear()
     registry.dropAllHandlers()
     interactionManager.reset()
     synchronized(roots) {
@@ -203,6 +333,7 @@ class RNGestureHandlerModule(reactContext: ReactApplicationContext?) :
 
   companion object {
     const val NAME = "RNGestureHandlerModule"
+    private const val NO_STATE_REQUEST = -1L
 
     private var nextModuleId = 0
     val registries: MutableMap<Int, RNGestureHandlerRegistry> = mutableMapOf()
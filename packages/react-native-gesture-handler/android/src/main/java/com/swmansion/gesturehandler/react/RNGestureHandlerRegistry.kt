@@ -10,30 +10,95 @@ import java.util.*
 class RNGestureHandlerRegistry : GestureHandlerRegistry {
   private val handlers = SparseArray<GestureHandler>()
   private val attachedTo = SparseArray<Int?>()
-  private val handlersForView = SparseArray<ArrayList<GestureHandler>>()
+
+  // Copy-on-write: both the array and the lists in it are replaced instead of being modified, so that
+  // the UI thread can read them without taking the lock while handlers are attached on the native
+  // modules thread.
+  @Volatile
+  private var handlersForView = SparseArray<ArrayList<GestureHandler>>()
+
+  // Copy of `handlersForView` modified by the thread running `batch` and published once it finishes,
+  // so that attaching many handlers in one batch copies the array once instead of once per handler.
+  private var batchedHandlersForView: SparseArray<ArrayList<GestureHandler>>? = null
+
   private val observers = mutableMapOf<Int, MutableMap<Any, (GestureHandler) -> Unit>>()
 
+  @Volatile
+  private var attachmentsGeneration = 0
+  override val generation: Int
+    get() = attachmentsGeneration
+
+  // Handlers registered during `batch`, whose observers are notified once it finishes.
+  private var batchedRegistrations: ArrayList<GestureHandler>? = null
+  private var batchingThread: Thread? = null
+
   fun registerHandler(handler: GestureHandler) {
     val hasObservers = synchronized(this) {
       handlers.put(handler.tag, handler)
-      observers[handler.tag]?.isNotEmpty() == true
+      val batched = batchedRegistrations
+      if (batched != null && batchingThread === Thread.currentThread()) {
+        // Observers will be notified once the batch finishes.
+        batched.add(handler)
+        false
+      } else {
+        observers[handler.tag]?.isNotEmpty() == true
+      }
+    }
+
+    if (hasObservers) {
+      notifyObservers(listOf(handler))
     }
+  }
 
-    if (!hasObservers) {
-      return
+  /**
+   * Runs `block` as a single transaction. The lock is taken separately for every change made in it, so
+   * the UI thread doesn't wait for the whole batch, but handlers attached or detached by the calling
+   * thread are published once it finishes. Observers of the handlers registered in it are notified
+   * afterwards, using a single post to the UI thread.
+   */
+  fun batch(block: () -> Unit) {
+    val registered = arrayListOf<GestureHandler>()
+    synchronized(this) {
+      check(batchingThread == null) { "Registry batches cannot be nested" }
+      batchingThread = Thread.currentThread()
+      batchedRegistrations = registered
     }
 
+    try {
+      block()
+    } finally {
+      val observed = synchronized(this) {
+        batchingThread = null
+        batchedRegistrations = null
+        batchedHandlersForView?.let {
+          batchedHandlersForView = null
+          handlersForView = it
+          attachmentsGeneration++
+        }
+
+        registered.filter { observers[it.tag]?.isNotEmpty() == true }
+      }
+
+      if (observed.isNotEmpty()) {
+        notifyObservers(observed)
+      }
+    }
+  }
+
+  private fun notifyObservers(registeredHandlers: List<GestureHandler>) {
     // `createGestureHandler` runs on the JS thread, but observer callbacks read detector
     // view state (childCount, getChildAt) and may attach native handlers, so they must run
     // on the UI thread. Re-resolve the observer list on the UI thread so a cancellation that
     // happens between this post and `notify` running (e.g. detector detach) actually prevents
     // the callback.
     val notify = {
-      val callbacks = synchronized(this) {
-        observers[handler.tag]?.values?.toList().orEmpty()
-      }
-      for (callback in callbacks) {
-        callback(handler)
+      for (handler in registeredHandlers) {
+        val callbacks = synchronized(this) {
+          observers[handler.tag]?.values?.toList().orEmpty()
+        }
+        for (callback in callbacks) {
+          callback(handler)
+        }
       }
     }
 
@@ -94,6 +159,7 @@ class RNGestureHandlerRegistry : GestureHandlerRegistry {
       detachHandlerInternal(handler)
       handler.actionType = actionType
       handler.hostDetectorView = hostDetectorView
+      handler.updateDensity()
       registerHandlerForViewWithTag(viewTag, handler)
       true
     } ?: false
@@ -103,15 +169,35 @@ class RNGestureHandlerRegistry : GestureHandlerRegistry {
   private fun registerHandlerForViewWithTag(viewTag: Int, handler: GestureHandler) {
     check(attachedTo[handler.tag] == null) { "Handler $handler already attached" }
     attachedTo.put(handler.tag, viewTag)
-    var listToAdd = handlersForView[viewTag]
-    if (listToAdd == null) {
-      listToAdd = ArrayList(1)
-      listToAdd.add(handler)
-      handlersForView.put(viewTag, listToAdd)
+    val currentHandlers = (batchedHandlersForView ?: handlersForView)[viewTag]
+    val updatedHandlers = ArrayList<GestureHandler>((currentHandlers?.size ?: 0) + 1)
+    currentHandlers?.let { updatedHandlers.addAll(it) }
+    updatedHandlers.add(handler)
+    publishHandlersForView(viewTag, updatedHandlers)
+  }
+
+  // The generation is bumped after the array is published, so that readers which have seen the new
+  // generation can't cache handlers read from the old array. Changes made by other threads during a
+  // batch, e.g. detectors attaching handlers on the UI thread, are published right away together with
+  // the batched ones, and the batch continues on a new copy.
+  private fun publishHandlersForView(viewTag: Int, handlers: ArrayList<GestureHandler>?) {
+    val isBatching = batchingThread === Thread.currentThread()
+    val updated = if (isBatching) {
+      batchedHandlersForView ?: handlersForView.clone().also { batchedHandlersForView = it }
     } else {
-      synchronized(listToAdd) {
-        listToAdd.add(handler)
-      }
+      batchedHandlersForView ?: handlersForView.clone()
+    }
+
+    if (handlers.isNullOrEmpty()) {
+      updated.remove(viewTag)
+    } else {
+      updated.put(viewTag, handlers)
+    }
+
+    if (!isBatching) {
+      batchedHandlersForView = null
+      handlersForView = updated
+      attachmentsGeneration++
     }
   }
 
@@ -120,15 +206,11 @@ class RNGestureHandlerRegistry : GestureHandlerRegistry {
     val attachedToView = attachedTo[handler.tag]
     if (attachedToView != null) {
       attachedTo.remove(handler.tag)
-      val attachedHandlers = handlersForView[attachedToView]
+      val attachedHandlers = (batchedHandlersForView ?: handlersForView)[attachedToView]
       if (attachedHandlers != null) {
-        synchronized(attachedHandlers) {
-          attachedHandlers.remove(handler)
-        }
-
-        if (attachedHandlers.size == 0) {
-          handlersForView.remove(attachedToView)
-        }
+        val updatedHandlers = ArrayList(attachedHandlers)
+        updatedHandlers.remove(handler)
+        publishHandlersForView(attachedToView, updatedHandlers)
       }
     }
     if (handler.view != null) {
@@ -159,12 +241,12 @@ class RNGestureHandlerRegistry : GestureHandlerRegistry {
   fun dropAllHandlers() {
     handlers.clear()
     attachedTo.clear()
-    handlersForView.clear()
+    batchedHandlersForView = null
+    handlersForView = SparseArray()
+    attachmentsGeneration++
   }
 
-  @Synchronized
   override fun getHandlersForViewWithTag(viewTag: Int): ArrayList<GestureHandler>? = handlersForView[viewTag]
 
-  @Synchronized
   override fun getHandlersForView(view: View): ArrayList<GestureHandler>? = getHandlersForViewWithTag(view.id)
 }
@@ -11,6 +11,7 @@ import com.facebook.react.bridge.UiThreadUtil
 import com.facebook.react.common.ReactConstants
 import com.facebook.react.uimanager.RootView
 import com.facebook.react.uimanager.ThemedReactContext
+import com.swmansion.gesturehandler.BuildConfig
 import com.swmansion.gesturehandler.core.GestureHandler
 import com.swmansion.gesturehandler.core.GestureHandlerOrchestrator
 import com.swmansion.gesturehandler.core.OnJSResponderCancelListener
@@ -18,6 +19,7 @@ import com.swmansion.gesturehandler.core.OnJSResponderCancelListener
 class RNGestureHandlerRootHelper(private val context: ReactContext, wrappedView: ViewGroup, private val moduleId: Int) {
   val orchestrator: GestureHandlerOrchestrator?
   private val jsGestureHandler: GestureHandler?
+  private val module: RNGestureHandlerModule
   val rootView: ViewGroup
   private var shouldIntercept = false
   private var wasIntercepting = false
@@ -30,7 +32,7 @@ class RNGestureHandlerRootHelper(private val context: ReactContext, wrappedView:
     UiThreadUtil.assertOnUiThread()
     val wrappedViewTag = wrappedView.id
     assert(wrappedViewTag >= 1) { "Expect view tag to be set for $wrappedView" }
-    val module = context.getNativeModule(RNGestureHandlerModule::class.java)!!
+    module = context.getNativeModule(RNGestureHandlerModule::class.java)!!
     rootView = findRootViewTag(wrappedView)
     Log.i(
       ReactConstants.TAG,
@@ -54,6 +56,9 @@ class RNGestureHandlerRootHelper(private val context: ReactContext, wrappedView:
       onJSResponderCancelListener,
     ).apply {
       minimumAlphaForTraversal = MIN_ALPHA_FOR_TOUCH
+      isHitTestIndexEnabled = BuildConfig.RNGH_USE_HIT_TEST_INDEX
+      isSharedEventDeliveryEnabled = BuildConfig.RNGH_SHARE_DELIVERED_EVENTS
+      isEventTimeDeadlinesEnabled = BuildConfig.RNGH_EVENT_TIME_DEADLINES
     }
     jsGestureHandler = RootViewGestureHandler(handlerTag = -wrappedViewTag)
     registry.registerHandler(jsGestureHandler)
@@ -76,6 +81,7 @@ class RNGestureHandlerRootHelper(private val context: ReactContext, wrappedView:
       registry.dropHandler(jsGestureHandler!!.tag)
       unregisterRootHelper(this@RNGestureHandlerRootHelper)
     }
+    orchestrator?.tearDown()
   }
 
   internal inner class RootViewGestureHandler(handlerTag: Int) : GestureHandler() {
@@ -129,7 +135,11 @@ class RNGestureHandlerRootHelper(private val context: ReactContext, wrappedView:
     // if `requestDisallow` has been called as a result of a normal gesture handling process or
     // as a result of one of the gesture handlers activating
     passingTouch = true
+    // State changes requested from other threads are applied around touch events, so that they
+    // take effect within the same event when possible instead of waiting for the posted flush.
+    module.flushGestureHandlerStateRequests()
     orchestrator!!.onTouchEvent(event)
+    module.flushGestureHandlerStateRequests()
     passingTouch = false
 
     // On the transition into interception, cancel the native views the pointers landed on - the
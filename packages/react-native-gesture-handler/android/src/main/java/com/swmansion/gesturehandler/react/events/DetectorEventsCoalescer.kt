@@ -0,0 +1,63 @@
+package com.swmansion.gesturehandler.react.events
+
+import android.view.Choreographer
+import com.facebook.react.uimanager.events.Event
+import com.swmansion.gesturehandler.core.GestureHandler
+import com.swmansion.gesturehandler.react.RNGestureHandlerDetectorView
+
+/**
+ * Coalesces update events of handlers attached through detectors. Those events are sent to C++, where
+ * the coalescing key is not considered (see `RNGestureHandlerEvent.canCoalesce`), so without this a busy
+ * JS thread would receive a backlog of updates instead of only the most recent one.
+ *
+ * Only the latest update of every handler is kept and the pending updates are dispatched once per frame.
+ * The frame callback is posted while input is being handled, so it runs in the same frame. All other
+ * events of detectors have to go through `dispatch`, which sends the pending updates first so that the
+ * order of events is preserved.
+ */
+class DetectorEventsCoalescer : Choreographer.FrameCallback {
+  private val handlers = arrayListOf<GestureHandler>()
+  private val detectors = arrayListOf<RNGestureHandlerDetectorView>()
+  private val events = arrayListOf<RNGestureHandlerEvent>()
+  private var isFrameCallbackPosted = false
+
+  fun enqueueUpdate(handler: GestureHandler, detector: RNGestureHandlerDetectorView, event: RNGestureHandlerEvent) {
+    val index = handlers.indexOfFirst { it === handler }
+
+    if (index != -1) {
+      events[index].dispose()
+      detectors[index] = detector
+      events[index] = event
+      return
+    }
+
+    handlers.add(handler)
+    detectors.add(detector)
+    events.add(event)
+
+    if (!isFrameCallbackPosted) {
+      isFrameCallbackPosted = true
+      Choreographer.getInstance().postFrameCallback(this)
+    }
+  }
+
+  fun dispatch(detector: RNGestureHandlerDetectorView, event: Event<*>) {
+    flush()
+    detector.dispatchEvent(event)
+  }
+
+  fun flush() {
+    for (i in events.indices) {
+      detectors[i].dispatchEvent(events[i])
+    }
+
+    handlers.clear()
+    detectors.clear()
+    events.clear()
+  }
+
+  override fun doFrame(frameTimeNanos: Long) {
+    isFrameCallbackPosted = false
+    flush()
+  }
+}
@@ -0,0 +1,58 @@
+package com.swmansion.gesturehandler.react.events
+
+import android.view.Choreographer
+import com.facebook.react.bridge.Arguments
+import com.facebook.react.bridge.WritableMap
+import com.swmansion.gesturehandler.core.GestureHandler
+
+/**
+ * Update events sent to JS as device events during a frame. They are emitted together as a single
+ * `RNGestureHandlerEvent.BATCH_EVENT_NAME` event from a Choreographer frame callback, so JS runs its
+ * callbacks once per frame instead of once per `MotionEvent`. Only the latest update of every handler
+ * is kept, and handlers appear in the batch in the order of their first update in the frame.
+ *
+ * Other device events have to be emitted after calling `flush`, so that they are not received before
+ * the updates which preceded them.
+ */
+class DeviceUpdateEventsBatch(private val emit: (String, WritableMap) -> Unit) : Choreographer.FrameCallback {
+  private val handlers = arrayListOf<GestureHandler>()
+  private val payloads = arrayListOf<WritableMap>()
+  private var isFrameCallbackPosted = false
+
+  fun add(handler: GestureHandler, payload: WritableMap) {
+    val index = handlers.indexOfFirst { it === handler }
+
+    if (index != -1) {
+      payloads[index] = payload
+      return
+    }
+
+    handlers.add(handler)
+    payloads.add(payload)
+
+    if (!isFrameCallbackPosted) {
+      isFrameCallbackPosted = true
+      Choreographer.getInstance().postFrameCallback(this)
+    }
+  }
+
+  fun flush() {
+    if (payloads.isEmpty()) {
+      return
+    }
+
+    val events = Arguments.createArray()
+    for (payload in payloads) {
+      events.pushMap(payload)
+    }
+
+    handlers.clear()
+    payloads.clear()
+    emit(RNGestureHandlerEvent.BATCH_EVENT_NAME, Arguments.createMap().apply { putArray("events", events) })
+  }
+
+  override fun doFrame(frameTimeNanos: Long) {
+    isFrameCallbackPosted = false
+    flush()
+  }
+}
@@ -1,12 +1,12 @@
 package com.swmansion.gesturehandler.react.events
 
-import androidx.core.util.Pools
 import com.facebook.react.bridge.Arguments
 import com.facebook.react.bridge.WritableMap
-import com.facebook.react.uimanager.UIManagerHelper
 import com.facebook.react.uimanager.events.Event
+import com.swmansion.gesturehandler.core.AdaptivePool
 import com.swmansion.gesturehandler.core.GestureHandler
 import com.swmansion.gesturehandler.react.events.eventbuilders.GestureHandlerEventDataBuilder
+import com.swmansion.gesturehandler.react.surfaceIdForEvents
 
 class RNGestureHandlerEvent private constructor() : Event<RNGestureHandlerEvent>() {
   private var dataBuilder: GestureHandlerEventDataBuilder<*>? = null
@@ -22,7 +22,7 @@ class RNGestureHandlerEvent private constructor() : Event<RNGestureHandlerEvent>
   ) {
     val view = handler.viewForEvents
 
-    super.init(UIManagerHelper.getSurfaceId(view), view.id)
+    super.init(view.surfaceIdForEvents(), view.id)
 
     this.actionType = actionType
     this.dataBuilder = dataBuilder
@@ -31,6 +31,7 @@ class RNGestureHandlerEvent private constructor() : Event<RNGestureHandlerEvent>
   }
 
   override fun onDispose() {
+    dataBuilder?.release()
     dataBuilder = null
     EVENTS_POOL.release(this)
   }
@@ -49,7 +50,8 @@ class RNGestureHandlerEvent private constructor() : Event<RNGestureHandlerEvent>
     EVENT_NAME
   }
 
-  // Unfortunately getCoalescingKey is not considered when sending event to C++, therefore we have to disable coalescing in v3
+  // Unfortunately getCoalescingKey is not considered when sending event to C++, therefore we have to disable coalescing in v3.
+  // Updates sent to JS through detectors are coalesced by `DetectorEventsCoalescer` instead.
   override fun canCoalesce() = !GestureHandler.usesNativeOrVirtualDetector(actionType)
 
   override fun getCoalescingKey() = coalescingKey
@@ -63,6 +65,7 @@ class RNGestureHandlerEvent private constructor() : Event<RNGestureHandlerEvent>
   companion object {
     const val EVENT_NAME = "onGestureHandlerEvent"
     const val REANIMATED_EVENT_NAME = "onGestureHandlerReanimatedEvent"
+    const val BATCH_EVENT_NAME = "onGestureHandlerEventBatch"
 
     // On the new architecture, native animated expects event names prefixed with `top` instead of `on`,
     // since we know when the native animated node is the target of the event we can use the different
@@ -71,8 +74,18 @@ class RNGestureHandlerEvent private constructor() : Event<RNGestureHandlerEvent>
     // how GH sends events (which needs to be done, but maybe wait until the RN's apis stop changing)
     const val NATIVE_ANIMATED_EVENT_NAME = "topGestureHandlerEvent"
     const val NATIVE_DETECTOR_ANIMATED_EVENT_NAME = "topGestureHandlerAnimatedEvent"
-    private const val TOUCH_EVENTS_POOL_SIZE = 7 // magic
-    private val EVENTS_POOL = Pools.SynchronizedPool<RNGestureHandlerEvent>(TOUCH_EVENTS_POOL_SIZE)
+    private const val EVENTS_POOL_INITIAL_CAPACITY = 7
+    private const val EVENTS_POOL_MAX_CAPACITY = 64
+    private val EVENTS_POOL = AdaptivePool<RNGestureHandlerEvent>(
+      EVENTS_POOL_INITIAL_CAPACITY,
+      EVENTS_POOL_MAX_CAPACITY,
+    )
+
+    /**
+     * Pool of the events, exposed for diagnostics and to tune its `maxCapacity`.
+     */
+    val eventsPool: AdaptivePool<*>
+      get() = EVENTS_POOL
 
     fun <T : GestureHandler> obtain(
       handler: T,
@@ -14,6 +14,16 @@ import com.swmansion.gesturehandler.react.deviceEventEmitter
 class RNGestureHandlerEventDispatcher(private val reactApplicationContext: ReactApplicationContext) :
   OnTouchEventListener {
   private val reanimatedProxy = ReanimatedProxy()
+  private val detectorEventsCoalescer = DetectorEventsCoalescer()
+  private val deviceUpdateEventsBatch = DeviceUpdateEventsBatch { eventName, data ->
+    reactApplicationContext.deviceEventEmitter.emit(eventName, data)
+  }
+
+  /**
+   * Whether update events sent to JS as device events are emitted in a single batch once per frame,
+   * see `DeviceUpdateEventsBatch`.
+   */
+  var isUpdateEventsBatchingEnabled = false
 
   override fun <T : GestureHandler> onHandlerUpdate(handler: T, event: MotionEvent) {
     this.dispatchHandlerUpdateEvent(handler)
@@ -43,7 +53,7 @@ class RNGestureHandlerEventDispatcher(private val reactApplicationContext: React
         val event = RNGestureHandlerEvent.obtain(
           handler,
           handler.actionType,
-          handlerFactory.createEventBuilder(handler),
+          handlerFactory.obtainEventBuilder(handler),
           EventHandlerType.ForJS, // For API v2 compatibility
         )
         sendEventForReanimated(event)
@@ -53,23 +63,24 @@ class RNGestureHandlerEventDispatcher(private val reactApplicationContext: React
         val event = RNGestureHandlerEvent.obtain(
           handler,
           handler.actionType,
-          handlerFactory.createEventBuilder(handler),
+          handlerFactory.obtainEventBuilder(handler),
           EventHandlerType.ForAnimated,
         )
         sendEventForNativeAnimatedEvent(event)
       }
       GestureHandler.ACTION_TYPE_JS_FUNCTION_OLD_API -> {
         // JS function, Animated.event with useNativeDriver: false using old API
-        val data = RNGestureHandlerEvent.createEventData(
-          handlerFactory.createEventBuilder(handler),
-        )
-        sendEventForDeviceEvent(RNGestureHandlerEvent.EVENT_NAME, data)
+        val dataBuilder = handlerFactory.obtainEventBuilder(handler)
+        val data = RNGestureHandlerEvent.createEventData(dataBuilder)
+        dataBuilder.release()
+        sendUpdateEventForDeviceEvent(handler, data)
       }
       GestureHandler.ACTION_TYPE_JS_FUNCTION_NEW_API -> {
         // JS function, Animated.event with useNativeDriver: false using new API
-        val data =
-          RNGestureHandlerEvent.createEventData(handlerFactory.createEventBuilder(handler))
-        sendEventForDeviceEvent(RNGestureHandlerEvent.EVENT_NAME, data)
+        val dataBuilder = handlerFactory.obtainEventBuilder(handler)
+        val data = RNGestureHandlerEvent.createEventData(dataBuilder)
+        dataBuilder.release()
+        sendUpdateEventForDeviceEvent(handler, data)
       }
       GestureHandler.ACTION_TYPE_NATIVE_DETECTOR, GestureHandler.ACTION_TYPE_VIRTUAL_DETECTOR -> {
         val eventHandlerType = if (handler.dispatchesAnimatedEvents) {
@@ -80,14 +91,20 @@ class RNGestureHandlerEventDispatcher(private val reactApplicationContext: React
           EventHandlerType.ForJS
         }
 
+        val detector = handler.hostDetectorView ?: return
         val event = RNGestureHandlerEvent.obtain(
           handler,
           handler.actionType,
-          handlerFactory.createEventBuilder(handler),
+          handlerFactory.obtainEventBuilder(handler),
           eventHandlerType,
         )
 
-        handler.hostDetectorView?.dispatchEvent(event)
+        // Animated and Reanimated handle events on the UI thread, only JS may fall behind
+        if (eventHandlerType == EventHandlerType.ForJS) {
+          detectorEventsCoalescer.enqueueUpdate(handler, detector, event)
+        } else {
+          detectorEventsCoalescer.dispatch(detector, event)
+        }
       }
     }
   }
@@ -110,7 +127,7 @@ class RNGestureHandlerEventDispatcher(private val reactApplicationContext: React
           newState,
           oldState,
           handler.actionType,
-          handlerFactory.createEventBuilder(handler),
+          handlerFactory.obtainEventBuilder(handler),
           EventHandlerType.ForJS, // For API v2 compatibility
         )
         sendEventForReanimated(event)
@@ -118,21 +135,17 @@ class RNGestureHandlerEventDispatcher(private val reactApplicationContext: React
 
       GestureHandler.ACTION_TYPE_NATIVE_ANIMATED_EVENT, GestureHandler.ACTION_TYPE_JS_FUNCTION_OLD_API -> {
         // JS function or Animated.event with useNativeDriver: false with old API
-        val data = RNGestureHandlerStateChangeEvent.createEventData(
-          handlerFactory.createEventBuilder(handler),
-          newState,
-          oldState,
-        )
+        val dataBuilder = handlerFactory.obtainEventBuilder(handler)
+        val data = RNGestureHandlerStateChangeEvent.createEventData(dataBuilder, newState, oldState)
+        dataBuilder.release()
         sendEventForDeviceEvent(RNGestureHandlerStateChangeEvent.EVENT_NAME, data)
       }
 
       GestureHandler.ACTION_TYPE_JS_FUNCTION_NEW_API -> {
         // JS function or Animated.event with useNativeDriver: false with new API
-        val data = RNGestureHandlerStateChangeEvent.createEventData(
-          handlerFactory.createEventBuilder(handler),
-          newState,
-          oldState,
-        )
+        val dataBuilder = handlerFactory.obtainEventBuilder(handler)
+        val data = RNGestureHandlerStateChangeEvent.createEventData(dataBuilder, newState, oldState)
+        dataBuilder.release()
         sendEventForDeviceEvent(RNGestureHandlerStateChangeEvent.EVENT_NAME, data)
       }
 
@@ -143,16 +156,17 @@ class RNGestureHandlerEventDispatcher(private val reactApplicationContext: React
           EventHandlerType.ForJS
         }
 
+        val detector = handler.hostDetectorView ?: return
         val event = RNGestureHandlerStateChangeEvent.obtain(
           handler,
           newState,
           oldState,
           handler.actionType,
-          handlerFactory.createEventBuilder(handler),
+          handlerFactory.obtainEventBuilder(handler),
           eventHandlerType,
         )
 
-        handler.hostDetectorView?.dispatchEvent(event)
+        detectorEventsCoalescer.dispatch(detector, event)
       }
     }
   }
@@ -194,9 +208,10 @@ class RNGestureHandlerEventDispatcher(private val reactApplicationContext: React
         } else {
           EventHandlerType.ForJS
         }
+        val detector = handler.hostDetectorView ?: return
         val event = RNGestureHandlerTouchEvent.obtain(handler, handler.actionType, eventHandlerType)
 
-        handler.hostDetectorView?.dispatchEvent(event)
+        detectorEventsCoalescer.dispatch(detector, event)
       }
     }
   }
@@ -214,8 +229,17 @@ class RNGestureHandlerEventDispatcher(private val reactApplicationContext: React
     reactApplicationContext.dispatchEvent(event)
   }
 
+  private fun sendUpdateEventForDeviceEvent(handler: GestureHandler, data: WritableMap) {
+    if (isUpdateEventsBatchingEnabled) {
+      deviceUpdateEventsBatch.add(handler, data)
+    } else {
+      sendEventForDeviceEvent(RNGestureHandlerEvent.EVENT_NAME, data)
+    }
+  }
+
   private fun sendEventForDeviceEvent(eventName: String, data: WritableMap) {
-    // Delivers the event to JS as a device event.
+    // Delivers the event to JS as a device event, after the batched updates which preceded it.
+    deviceUpdateEventsBatch.flush()
     reactApplicationContext.deviceEventEmitter.emit(eventName, data)
   }
 }
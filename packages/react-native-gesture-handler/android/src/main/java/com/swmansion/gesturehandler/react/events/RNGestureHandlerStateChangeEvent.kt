@@ -1,12 +1,12 @@
 package com.swmansion.gesturehandler.react.events
 
-import androidx.core.util.Pools
 import com.facebook.react.bridge.Arguments
 import com.facebook.react.bridge.WritableMap
-import com.facebook.react.uimanager.UIManagerHelper
 import com.facebook.react.uimanager.events.Event
+import com.swmansion.gesturehandler.core.AdaptivePool
 import com.swmansion.gesturehandler.core.GestureHandler
 import com.swmansion.gesturehandler.react.events.eventbuilders.GestureHandlerEventDataBuilder
+import com.swmansion.gesturehandler.react.surfaceIdForEvents
 
 class RNGestureHandlerStateChangeEvent private constructor() : Event<RNGestureHandlerStateChangeEvent>() {
   private var dataBuilder: GestureHandlerEventDataBuilder<*>? = null
@@ -25,7 +25,7 @@ class RNGestureHandlerStateChangeEvent private constructor() : Event<RNGestureHa
   ) {
     val view = handler.viewForEvents
 
-    super.init(UIManagerHelper.getSurfaceId(view), view.id)
+    super.init(view.surfaceIdForEvents(), view.id)
 
     this.dataBuilder = dataBuilder
     this.newState = newState
@@ -35,6 +35,7 @@ class RNGestureHandlerStateChangeEvent private constructor() : Event<RNGestureHa
   }
 
   override fun onDispose() {
+    dataBuilder?.release()
     dataBuilder = null
     newState = GestureHandler.STATE_UNDETERMINED
     oldState = GestureHandler.STATE_UNDETERMINED
@@ -62,11 +63,19 @@ class RNGestureHandlerStateChangeEvent private constructor() : Event<RNGestureHa
   companion object {
     const val EVENT_NAME = "onGestureHandlerStateChange"
     const val REANIMATED_EVENT_NAME = "onGestureHandlerReanimatedStateChange"
-    private const val TOUCH_EVENTS_POOL_SIZE = 7 // magic
-    private val EVENTS_POOL = Pools.SynchronizedPool<RNGestureHandlerStateChangeEvent>(
-      TOUCH_EVENTS_POOL_SIZE,
+    private const val EVENTS_POOL_INITIAL_CAPACITY = 7
+    private const val EVENTS_POOL_MAX_CAPACITY = 64
+    private val EVENTS_POOL = AdaptivePool<RNGestureHandlerStateChangeEvent>(
+      EVENTS_POOL_INITIAL_CAPACITY,
+      EVENTS_POOL_MAX_CAPACITY,
     )
 
+    /**
+     * Pool of the events, exposed for diagnostics and to tune its `maxCapacity`.
+     */
+    val eventsPool: AdaptivePool<*>
+      get() = EVENTS_POOL
+
     fun <T : GestureHandler> obtain(
       handler: T,
       newState: Int,
@@ -1,11 +1,11 @@
 package com.swmansion.gesturehandler.react.events
 
-import androidx.core.util.Pools
 import com.facebook.react.bridge.Arguments
 import com.facebook.react.bridge.WritableMap
-import com.facebook.react.uimanager.UIManagerHelper
 import com.facebook.react.uimanager.events.Event
+import com.swmansion.gesturehandler.core.AdaptivePool
 import com.swmansion.gesturehandler.core.GestureHandler
+import com.swmansion.gesturehandler.react.surfaceIdForEvents
 
 class RNGestureHandlerTouchEvent private constructor() : Event<RNGestureHandlerTouchEvent>() {
   private var extraData: WritableMap? = null
@@ -15,7 +15,7 @@ class RNGestureHandlerTouchEvent private constructor() : Event<RNGestureHandlerT
 
   private fun <T : GestureHandler> init(handler: T, actionType: Int, eventHandlerType: EventHandlerType) {
     val view = handler.viewForEvents
-    super.init(UIManagerHelper.getSurfaceId(view), view.id)
+    super.init(view.surfaceIdForEvents(), view.id)
 
     extraData = createEventData(handler)
     coalescingKey = handler.eventCoalescingKey
@@ -49,11 +49,19 @@ class RNGestureHandlerTouchEvent private constructor() : Event<RNGestureHandlerT
     const val EVENT_NAME = "onGestureHandlerEvent"
     const val REANIMATED_EVENT_NAME = "onGestureHandlerReanimatedTouchEvent"
     const val NATIVE_EVENT_NAME = "onGestureHandlerTouchEvent"
-    private const val TOUCH_EVENTS_POOL_SIZE = 7 // magic
-    private val EVENTS_POOL = Pools.SynchronizedPool<RNGestureHandlerTouchEvent>(
-      TOUCH_EVENTS_POOL_SIZE,
+    private const val EVENTS_POOL_INITIAL_CAPACITY = 7
+    private const val EVENTS_POOL_MAX_CAPACITY = 64
+    private val EVENTS_POOL = AdaptivePool<RNGestureHandlerTouchEvent>(
+      EVENTS_POOL_INITIAL_CAPACITY,
+      EVENTS_POOL_MAX_CAPACITY,
     )
 
+    /**
+     * Pool of the events, exposed for diagnostics and to tune its `maxCapacity`.
+     */
+    val eventsPool: AdaptivePool<*>
+      get() = EVENTS_POOL
+
     fun <T : GestureHandler> obtain(
       handler: T,
       actionType: Int,
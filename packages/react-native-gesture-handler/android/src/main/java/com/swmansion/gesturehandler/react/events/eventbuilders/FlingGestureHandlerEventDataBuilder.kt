@@ -1,24 +1,41 @@
 package com.swmansion.gesturehandler.react.events.eventbuilders
 
 import com.facebook.react.bridge.WritableMap
-import com.facebook.react.uimanager.PixelUtil
 import com.swmansion.gesturehandler.core.FlingGestureHandler
 
 class FlingGestureHandlerEventDataBuilder(handler: FlingGestureHandler) :
-  GestureHandlerEventDataBuilder<FlingGestureHandler>(handler) {
-  private val x: Float = handler.lastRelativePositionX
-  private val y: Float = handler.lastRelativePositionY
-  private val absoluteX: Float = handler.lastPositionInWindowX
-  private val absoluteY: Float = handler.lastPositionInWindowY
+  GestureHandlerEventDataBuilder<FlingGestureHandler>() {
+  private var x: Float = 0f
+  private var y: Float = 0f
+  private var absoluteX: Float = 0f
+  private var absoluteY: Float = 0f
+  private var direction: Int = 0
+  private var velocity: Float = 0f
+
+  init {
+    update(handler)
+  }
+
+  override fun update(handler: FlingGestureHandler) {
+    super.update(handler)
+    x = handler.lastRelativePositionX
+    y = handler.lastRelativePositionY
+    absoluteX = handler.lastPositionInWindowX
+    absoluteY = handler.lastPositionInWindowY
+    direction = handler.matchedDirection
+    velocity = handler.velocity
+  }
 
   override fun buildEventData(eventData: WritableMap) {
     super.buildEventData(eventData)
 
     with(eventData) {
-      putDouble("x", PixelUtil.toDIPFromPixel(x).toDouble())
-      putDouble("y", PixelUtil.toDIPFromPixel(y).toDouble())
-      putDouble("absoluteX", PixelUtil.toDIPFromPixel(absoluteX).toDouble())
-      putDouble("absoluteY", PixelUtil.toDIPFromPixel(absoluteY).toDouble())
+      putDouble("x", toDIPFromPixel(x))
+      putDouble("y", toDIPFromPixel(y))
+      putDouble("absoluteX", toDIPFromPixel(absoluteX))
+      putDouble("absoluteY", toDIPFromPixel(absoluteY))
+      putInt("direction", direction)
+      putDouble("velocity", toDIPFromPixel(velocity))
     }
   }
 }
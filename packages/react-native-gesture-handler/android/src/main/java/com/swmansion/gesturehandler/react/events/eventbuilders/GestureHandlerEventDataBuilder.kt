@@ -1,16 +1,50 @@
 package com.swmansion.gesturehandler.react.events.eventbuilders
 
 import com.facebook.react.bridge.WritableMap
+import com.swmansion.gesturehandler.core.AdaptivePool
 import com.swmansion.gesturehandler.core.GestureHandler
 
-abstract class GestureHandlerEventDataBuilder<T : GestureHandler>(handler: T) {
-  public val handlerTag: Int = handler.tag
-  public val state: Int = handler.state
-  private val pointerType: Int = handler.pointerType
-  private val numberOfPointers: Int = handler.numberOfPointers
+abstract class GestureHandlerEventDataBuilder<T : GestureHandler> {
+  var handlerTag: Int = 0
+    private set
+  var state: Int = 0
+    private set
+  private var pointerType: Int = 0
+  private var numberOfPointers: Int = 0
+  private var density: Float = 1f
+
+  private var pool: AdaptivePool<GestureHandlerEventDataBuilder<T>>? = null
+
+  /**
+   * Takes a snapshot of the handler's state. Builders obtained with `GestureHandler.Factory.obtainEventBuilder`
+   * are updated every time they are reused, so subclasses have to copy all the data they send here.
+   */
+  open fun update(handler: T) {
+    handlerTag = handler.tag
+    state = handler.state
+    pointerType = handler.pointerType
+    numberOfPointers = handler.numberOfPointers
+    density = handler.density
+  }
+
+  protected fun toDIPFromPixel(value: Float) = (value / density).toDouble()
 
   open fun buildEventData(eventData: WritableMap) {
     eventData.putInt("numberOfPointers", numberOfPointers)
     eventData.putInt("pointerType", pointerType)
   }
+
+  fun attachToPool(pool: AdaptivePool<GestureHandlerEventDataBuilder<T>>) {
+    this.pool = pool
+  }
+
+  /**
+   * Returns the builder to the pool it was obtained from. It must not be used afterwards, as it
+   * may already be holding data of another event.
+   */
+  fun release() {
+    val pool = pool ?: return
+    this.pool = null
+    pool.release(this)
+  }
 }
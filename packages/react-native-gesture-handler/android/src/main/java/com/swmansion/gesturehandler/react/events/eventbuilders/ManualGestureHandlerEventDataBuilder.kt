@@ -3,4 +3,8 @@ package com.swmansion.gesturehandler.react.events.eventbuilders
 import com.swmansion.gesturehandler.core.ManualGestureHandler
 
 class ManualGestureHandlerEventDataBuilder(handler: ManualGestureHandler) :
-  GestureHandlerEventDataBuilder<ManualGestureHandler>(handler)
+  GestureHandlerEventDataBuilder<ManualGestureHandler>() {
+  init {
+    update(handler)
+  }
+}
@@ -1,16 +1,28 @@
 package com.swmansion.gesturehandler.react.events.eventbuilders
 
 import com.facebook.react.bridge.WritableMap
-import com.facebook.react.uimanager.PixelUtil
 import com.swmansion.gesturehandler.core.NativeViewGestureHandler
 
 class NativeGestureHandlerEventDataBuilder(handler: NativeViewGestureHandler) :
-  GestureHandlerEventDataBuilder<NativeViewGestureHandler>(handler) {
-  private val pointerInside: Boolean = handler.isWithinBounds
-  private val x: Float = handler.lastRelativePositionX
-  private val y: Float = handler.lastRelativePositionY
-  private val absoluteX: Float = handler.lastPositionInWindowX
-  private val absoluteY: Float = handler.lastPositionInWindowY
+  GestureHandlerEventDataBuilder<NativeViewGestureHandler>() {
+  private var pointerInside: Boolean = false
+  private var x: Float = 0f
+  private var y: Float = 0f
+  private var absoluteX: Float = 0f
+  private var absoluteY: Float = 0f
+
+  init {
+    update(handler)
+  }
+
+  override fun update(handler: NativeViewGestureHandler) {
+    super.update(handler)
+    pointerInside = handler.isWithinBounds
+    x = handler.lastRelativePositionX
+    y = handler.lastRelativePositionY
+    absoluteX = handler.lastPositionInWindowX
+    absoluteY = handler.lastPositionInWindowY
+  }
 
   override fun buildEventData(eventData: WritableMap) {
     super.buildEventData(eventData)
@@ -18,10 +30,10 @@ class NativeGestureHandlerEventDataBuilder(handler: NativeViewGestureHandler) :
     eventData.putBoolean("pointerInside", pointerInside)
 
     with(eventData) {
-      putDouble("x", PixelUtil.toDIPFromPixel(x).toDouble())
-      putDouble("y", PixelUtil.toDIPFromPixel(y).toDouble())
-      putDouble("absoluteX", PixelUtil.toDIPFromPixel(absoluteX).toDouble())
-      putDouble("absoluteY", PixelUtil.toDIPFromPixel(absoluteY).toDouble())
+      putDouble("x", toDIPFromPixel(x))
+      putDouble("y", toDIPFromPixel(y))
+      putDouble("absoluteX", toDIPFromPixel(absoluteX))
+      putDouble("absoluteY", toDIPFromPixel(absoluteY))
     }
   }
 }
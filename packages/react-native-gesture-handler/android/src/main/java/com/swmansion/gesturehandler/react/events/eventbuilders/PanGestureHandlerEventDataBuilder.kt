@@ -1,34 +1,50 @@
 package com.swmansion.gesturehandler.react.events.eventbuilders
 
 import com.facebook.react.bridge.WritableMap
-import com.facebook.react.uimanager.PixelUtil
 import com.swmansion.gesturehandler.core.PanGestureHandler
 import com.swmansion.gesturehandler.core.StylusData
 
 class PanGestureHandlerEventDataBuilder(handler: PanGestureHandler) :
-  GestureHandlerEventDataBuilder<PanGestureHandler>(handler) {
-  private val x: Float = handler.lastRelativePositionX
-  private val y: Float = handler.lastRelativePositionY
-  private val absoluteX: Float = handler.lastPositionInWindowX
-  private val absoluteY: Float = handler.lastPositionInWindowY
-  private val translationX: Float = handler.translationX
-  private val translationY: Float = handler.translationY
-  private val velocityX: Float = handler.velocityX
-  private val velocityY: Float = handler.velocityY
-  private val stylusData: StylusData = handler.stylusData
+  GestureHandlerEventDataBuilder<PanGestureHandler>() {
+  private var x: Float = 0f
+  private var y: Float = 0f
+  private var absoluteX: Float = 0f
+  private var absoluteY: Float = 0f
+  private var translationX: Float = 0f
+  private var translationY: Float = 0f
+  private var velocityX: Float = 0f
+  private var velocityY: Float = 0f
+  private lateinit var stylusData: StylusData
+
+  init {
+    update(handler)
+  }
+
+  override fun update(handler: PanGestureHandler) {
+    super.update(handler)
+    x = handler.lastRelativePositionX
+    y = handler.lastRelativePositionY
+    absoluteX = handler.lastPositionInWindowX
+    absoluteY = handler.lastPositionInWindowY
+    translationX = handler.translationX
+    translationY = handler.translationY
+    velocityX = handler.velocityX
+    velocityY = handler.velocityY
+    stylusData = handler.stylusData
+  }
 
   override fun buildEventData(eventData: WritableMap) {
     super.buildEventData(eventData)
 
     with(eventData) {
-      putDouble("x", PixelUtil.toDIPFromPixel(x).toDouble())
-      putDouble("y", PixelUtil.toDIPFromPixel(y).toDouble())
-      putDouble("absoluteX", PixelUtil.toDIPFromPixel(absoluteX).toDouble())
-      putDouble("absoluteY", PixelUtil.toDIPFromPixel(absoluteY).toDouble())
-      putDouble("translationX", PixelUtil.toDIPFromPixel(translationX).toDouble())
-      putDouble("translationY", PixelUtil.toDIPFromPixel(translationY).toDouble())
-      putDouble("velocityX", PixelUtil.toDIPFromPixel(velocityX).toDouble())
-      putDouble("velocityY", PixelUtil.toDIPFromPixel(velocityY).toDouble())
+      putDouble("x", toDIPFromPixel(x))
+      putDouble("y", toDIPFromPixel(y))
+      putDouble("absoluteX", toDIPFromPixel(absoluteX))
+      putDouble("absoluteY", toDIPFromPixel(absoluteY))
+      putDouble("translationX", toDIPFromPixel(translationX))
+      putDouble("translationY", toDIPFromPixel(translationY))
+      putDouble("velocityX", toDIPFromPixel(velocityX))
+      putDouble("velocityY", toDIPFromPixel(velocityY))
 
       if (stylusData.pressure != -1.0) {
         putMap("stylusData", stylusData.toReadableMap())
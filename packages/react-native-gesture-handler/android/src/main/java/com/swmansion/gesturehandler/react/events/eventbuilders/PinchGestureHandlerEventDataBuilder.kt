@@ -1,23 +1,34 @@
 package com.swmansion.gesturehandler.react.events.eventbuilders
 
 import com.facebook.react.bridge.WritableMap
-import com.facebook.react.uimanager.PixelUtil
 import com.swmansion.gesturehandler.core.PinchGestureHandler
 
 class PinchGestureHandlerEventDataBuilder(handler: PinchGestureHandler) :
-  GestureHandlerEventDataBuilder<PinchGestureHandler>(handler) {
-  private val scale: Double = handler.scale
-  private val focalX: Float = handler.focalPointX
-  private val focalY: Float = handler.focalPointY
-  private val velocity: Double = handler.velocity
+  GestureHandlerEventDataBuilder<PinchGestureHandler>() {
+  private var scale: Double = 0.0
+  private var focalX: Float = 0f
+  private var focalY: Float = 0f
+  private var velocity: Double = 0.0
+
+  init {
+    update(handler)
+  }
+
+  override fun update(handler: PinchGestureHandler) {
+    super.update(handler)
+    scale = handler.scale
+    focalX = handler.focalPointX
+    focalY = handler.focalPointY
+    velocity = handler.velocity
+  }
 
   override fun buildEventData(eventData: WritableMap) {
     super.buildEventData(eventData)
 
     with(eventData) {
       putDouble("scale", scale)
-      putDouble("focalX", PixelUtil.toDIPFromPixel(focalX).toDouble())
-      putDouble("focalY", PixelUtil.toDIPFromPixel(focalY).toDouble())
+      putDouble("focalX", toDIPFromPixel(focalX))
+      putDouble("focalY", toDIPFromPixel(focalY))
       putDouble("velocity", velocity)
     }
   }
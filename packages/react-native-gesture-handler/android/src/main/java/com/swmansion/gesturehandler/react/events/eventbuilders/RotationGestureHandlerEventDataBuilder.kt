@@ -1,23 +1,34 @@
 package com.swmansion.gesturehandler.react.events.eventbuilders
 
 import com.facebook.react.bridge.WritableMap
-import com.facebook.react.uimanager.PixelUtil
 import com.swmansion.gesturehandler.core.RotationGestureHandler
 
 class RotationGestureHandlerEventDataBuilder(handler: RotationGestureHandler) :
-  GestureHandlerEventDataBuilder<RotationGestureHandler>(handler) {
-  private val rotation: Double = handler.rotation
-  private val anchorX: Float = handler.anchorX
-  private val anchorY: Float = handler.anchorY
-  private val velocity: Double = handler.velocity
+  GestureHandlerEventDataBuilder<RotationGestureHandler>() {
+  private var rotation: Double = 0.0
+  private var anchorX: Float = 0f
+  private var anchorY: Float = 0f
+  private var velocity: Double = 0.0
+
+  init {
+    update(handler)
+  }
+
+  override fun update(handler: RotationGestureHandler) {
+    super.update(handler)
+    rotation = handler.rotation
+    anchorX = handler.anchorX
+    anchorY = handler.anchorY
+    velocity = handler.velocity
+  }
 
   override fun buildEventData(eventData: WritableMap) {
     super.buildEventData(eventData)
 
     with(eventData) {
       putDouble("rotation", rotation)
-      putDouble("anchorX", PixelUtil.toDIPFromPixel(anchorX).toDouble())
-      putDouble("anchorY", PixelUtil.toDIPFromPixel(anchorY).toDouble())
+      putDouble("anchorX", toDIPFromPixel(anchorX))
+      putDouble("anchorY", toDIPFromPixel(anchorY))
       putDouble("velocity", velocity)
     }
   }
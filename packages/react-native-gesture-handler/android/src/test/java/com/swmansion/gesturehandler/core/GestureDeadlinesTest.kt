@@ -0,0 +1,185 @@
+package com.swmansion.gesturehandler.core
+
+import android.view.MotionEvent
+import android.view.View
+import android.view.ViewGroup
+import android.widget.FrameLayout
+import com.facebook.react.bridge.JavaOnlyMap
+import com.facebook.react.uimanager.DisplayMetricsHolder
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import java.util.*
+
+/**
+ * Replays recorded event streams against the orchestrator with event time deadlines enabled and a fake clock,
+ * so the results depend only on the timestamps of the events and on the time the clock is advanced to.
+ */
+@RunWith(RobolectricTestRunner::class)
+class GestureDeadlinesTest {
+  private var now = 0L
+  private val states = ArrayList<Int>()
+  private lateinit var orchestrator: GestureHandlerOrchestrator
+  private lateinit var handler: GestureHandler
+
+  private val stateRecorder = object : OnTouchEventListener {
+    override fun <T : GestureHandler> onHandlerUpdate(handler: T, event: MotionEvent) = Unit
+
+    override fun <T : GestureHandler> onStateChange(handler: T, newState: Int, oldState: Int) {
+      states.add(newState)
+    }
+
+    override fun <T : GestureHandler> onTouchEvent(handler: T) = Unit
+  }
+
+  @Before
+  fun setUp() {
+    now = 0L
+    states.clear()
+    DisplayMetricsHolder.initDisplayMetrics(RuntimeEnvironment.getApplication())
+  }
+
+  private fun attach(handler: GestureHandler) {
+    val wrapper = FrameLayout(RuntimeEnvironment.getApplication()).apply {
+      layout(0, 0, 100, 100)
+    }
+    val registry = object : GestureHandlerRegistry {
+      override val generation = 0
+      private val handlers = arrayListOf(handler)
+
+      override fun getHandlersForViewWithTag(viewTag: Int) = handlers
+      override fun getHandlersForView(view: View) = if (view === wrapper) handlers else null
+    }
+    val viewConfigHelper = object : ViewConfigurationHelper {
+      override fun getPointerEventsConfigForView(view: View) = PointerEventsConfig.AUTO
+      override fun isViewClippingChildren(view: ViewGroup) = false
+    }
+    val jsResponderCancelListener = object : OnJSResponderCancelListener {
+      override fun onCancelJSResponderRequested(handler: GestureHandler) = Unit
+    }
+
+    handler.tag = 1
+    handler.onTouchEventListener = stateRecorder
+    this.handler = handler
+    orchestrator = GestureHandlerOrchestrator(wrapper, registry, viewConfigHelper, wrapper, jsResponderCancelListener)
+      .apply {
+        isEventTimeDeadlinesEnabled = true
+        timerWheel.clock = GestureClock { now }
+      }
+  }
+
+  private fun replay(action: Int, eventTime: Long, x: Float = 50f, y: Float = 50f) {
+    val event = MotionEvent.obtain(0, eventTime, action, x, y, 0)
+    orchestrator.onTouchEvent(event)
+    event.recycle()
+  }
+
+  private fun advanceClockTo(time: Long) {
+    now = time
+    orchestrator.timerWheel.fireExpiredTimeouts()
+  }
+
+  @Test
+  fun tapEndsWhenReleasedBeforeMaxDuration() {
+    attach(TapGestureHandler())
+
+    replay(MotionEvent.ACTION_DOWN, 0)
+    replay(MotionEvent.ACTION_UP, 499)
+
+    assertEquals(
+      listOf(GestureHandler.STATE_BEGAN, GestureHandler.STATE_ACTIVE, GestureHandler.STATE_END),
+      states,
+    )
+  }
+
+  @Test
+  fun tapFailsOnEventSentAfterMaxDuration() {
+    attach(TapGestureHandler())
+
+    replay(MotionEvent.ACTION_DOWN, 0)
+    // The clock doesn't move, the deadline is checked against the timestamp of the event.
+    replay(MotionEvent.ACTION_UP, 500)
+
+    assertEquals(listOf(GestureHandler.STATE_BEGAN, GestureHandler.STATE_FAILED), states)
+  }
+
+  @Test
+  fun tapFailsWhenClockPassesMaxDuration() {
+    attach(TapGestureHandler())
+
+    replay(MotionEvent.ACTION_DOWN, 0)
+    advanceClockTo(499)
+    assertEquals(GestureHandler.STATE_BEGAN, handler.state)
+
+    advanceClockTo(500)
+    assertEquals(listOf(GestureHandler.STATE_BEGAN, GestureHandler.STATE_FAILED), states)
+  }
+
+  @Test
+  fun doubleTapFailsWhenSecondTapComesAfterMaxDelay() {
+    val tap = TapGestureHandler()
+    TapGestureHandler.Factory().updateConfig(tap, JavaOnlyMap.of("numberOfTaps", 2))
+    attach(tap)
+
+    replay(MotionEvent.ACTION_DOWN, 0)
+    replay(MotionEvent.ACTION_UP, 100)
+    replay(MotionEvent.ACTION_DOWN, 301)
+
+    assertEquals(listOf(GestureHandler.STATE_BEGAN, GestureHandler.STATE_FAILED), states)
+  }
+
+  @Test
+  fun longPressActivatesOnEventSentAfterMinDuration() {
+    attach(LongPressGestureHandler(RuntimeEnvironment.getApplication()))
+
+    replay(MotionEvent.ACTION_DOWN, 0)
+    replay(MotionEvent.ACTION_MOVE, 499)
+    assertEquals(GestureHandler.STATE_BEGAN, handler.state)
+
+    replay(MotionEvent.ACTION_MOVE, 500)
+    assertEquals(GestureHandler.STATE_ACTIVE, handler.state)
+
+    replay(MotionEvent.ACTION_UP, 700)
+    assertEquals(
+      listOf(GestureHandler.STATE_BEGAN, GestureHandler.STATE_ACTIVE, GestureHandler.STATE_END),
+      states,
+    )
+  }
+
+  @Test
+  fun longPressActivatesWhenClockPassesMinDuration() {
+    attach(LongPressGestureHandler(RuntimeEnvironment.getApplication()))
+
+    replay(MotionEvent.ACTION_DOWN, 0)
+    advanceClockTo(499)
+    assertEquals(GestureHandler.STATE_BEGAN, handler.state)
+
+    advanceClockTo(500)
+    assertEquals(GestureHandler.STATE_ACTIVE, handler.state)
+  }
+
+  @Test
+  fun longPressFailsWhenReleasedBeforeMinDuration() {
+    attach(LongPressGestureHandler(RuntimeEnvironment.getApplication()))
+
+    replay(MotionEvent.ACTION_DOWN, 0)
+    replay(MotionEvent.ACTION_UP, 499)
+    advanceClockTo(1000)
+
+    assertEquals(listOf(GestureHandler.STATE_BEGAN, GestureHandler.STATE_FAILED), states)
+  }
+
+  @Test
+  fun tearDownCancelsPendingTimeouts() {
+    attach(LongPressGestureHandler(RuntimeEnvironment.getApplication()))
+
+    replay(MotionEvent.ACTION_DOWN, 0)
+    orchestrator.tearDown()
+    advanceClockTo(1000)
+
+    assertEquals(GestureHandler.STATE_BEGAN, handler.state)
+  }
+}
@@ -0,0 +1,148 @@
+package com.swmansion.gesturehandler.core
+
+import android.view.MotionEvent
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import kotlin.math.abs
+
+/**
+ * The linear, no movement and repeated position streams come from the platform `VelocityTracker` tests and
+ * are checked against the same velocities, with the same tolerance of 20%.
+ */
+class VelocityEstimatorTest {
+  private fun VelocityEstimator.down(timeUs: Long, x: Float, pointerId: Int = 0) {
+    if (startMovement(MotionEvent.ACTION_DOWN, pointerId, timeUs * 1000)) {
+      addSample(pointerId, timeUs * 1000, x, 0f)
+    }
+  }
+
+  private fun VelocityEstimator.move(timeUs: Long, vararg positions: Pair<Int, Float>) {
+    if (startMovement(MotionEvent.ACTION_MOVE, positions[0].first, timeUs * 1000)) {
+      for ((pointerId, x) in positions) {
+        addSample(pointerId, timeUs * 1000, x, 0f)
+      }
+    }
+  }
+
+  private fun VelocityEstimator.release(timeUs: Long, action: Int = MotionEvent.ACTION_UP, pointerId: Int = 0) {
+    assertEquals(false, startMovement(action, pointerId, timeUs * 1000))
+  }
+
+  private fun VelocityEstimator.velocityFor(strategy: VelocityEstimator.Strategy): Float {
+    this.strategy = strategy
+    computeVelocity()
+    return velocityX
+  }
+
+  private fun assertNearByFraction(expected: Float, actual: Float, fraction: Float = 0.2f) {
+    assertEquals(expected, actual, abs(expected * fraction))
+  }
+
+  @Test
+  fun linearMovement() {
+    val estimator = VelocityEstimator().apply {
+      down(0, 0f)
+      move(10_000, 0 to 5f)
+      move(20_000, 0 to 10f)
+      release(20_000)
+    }
+
+    assertNearByFraction(500f, estimator.velocityFor(VelocityEstimator.Strategy.LEAST_SQUARES))
+    assertNearByFraction(500f, estimator.velocityFor(VelocityEstimator.Strategy.IMPULSE))
+  }
+
+  @Test
+  fun noMovement() {
+    val estimator = VelocityEstimator().apply {
+      down(0, 293f)
+      move(6_132, 0 to 293f)
+      move(11_283, 0 to 293f)
+      release(11_283)
+    }
+
+    assertEquals(0f, estimator.velocityFor(VelocityEstimator.Strategy.LEAST_SQUARES), 0f)
+    assertEquals(0f, estimator.velocityFor(VelocityEstimator.Strategy.IMPULSE), 0f)
+  }
+
+  @Test
+  fun movementFollowedByRepeatedPosition() {
+    val estimator = VelocityEstimator().apply {
+      down(0, 273f)
+      move(12_585, 0 to 293f)
+      move(14_730, 0 to 293f)
+      release(14_730)
+    }
+
+    assertNearByFraction(1600f, estimator.velocityFor(VelocityEstimator.Strategy.IMPULSE))
+  }
+
+  @Test
+  fun quadraticMovementIsFittedExactly() {
+    // x = 0.01 * t^2 with t in milliseconds, so the velocity at 40 ms is 0.8 px/ms.
+    val estimator = VelocityEstimator().apply {
+      down(0, 0f)
+      for (t in 8L..40L step 8) {
+        move(t * 1000, 0 to 0.01f * t * t)
+      }
+    }
+
+    assertEquals(800f, estimator.velocityFor(VelocityEstimator.Strategy.LEAST_SQUARES), 0.5f)
+  }
+
+  @Test
+  fun releaseAfterLastMoveDoesNotLowerVelocity() {
+    val estimator = VelocityEstimator().apply {
+      down(0, 0f)
+      move(10_000, 0 to 5f)
+      move(20_000, 0 to 10f)
+      release(28_000)
+    }
+
+    assertNearByFraction(500f, estimator.velocityFor(VelocityEstimator.Strategy.LEAST_SQUARES))
+  }
+
+  @Test
+  fun releaseAfterPauseResetsVelocity() {
+    val estimator = VelocityEstimator().apply {
+      down(0, 0f)
+      move(10_000, 0 to 5f)
+      move(20_000, 0 to 10f)
+      release(70_000)
+    }
+
+    assertEquals(0f, estimator.velocityFor(VelocityEstimator.Strategy.LEAST_SQUARES), 0f)
+  }
+
+  @Test
+  fun cancelIsIgnored() {
+    val estimator = VelocityEstimator().apply {
+      down(0, 0f)
+      move(10_000, 0 to 5f)
+      move(20_000, 0 to 10f)
+      release(30_000, MotionEvent.ACTION_CANCEL)
+    }
+
+    assertNearByFraction(500f, estimator.velocityFor(VelocityEstimator.Strategy.LEAST_SQUARES))
+  }
+
+  @Test
+  fun keepsHistoryOfRemainingPointerWhenActiveOneIsLifted() {
+    val estimator = VelocityEstimator().apply {
+      down(0, 0f)
+      startMovement(MotionEvent.ACTION_POINTER_DOWN, 1, 0)
+      addSample(0, 0, 0f, 0f)
+      addSample(1, 0, 100f, 0f)
+      move(10_000, 0 to 5f, 1 to 110f)
+      move(20_000, 0 to 10f, 1 to 120f)
+      release(20_000, MotionEvent.ACTION_POINTER_UP, pointerId = 0)
+    }
+
+    assertEquals(0, estimator.activePointerId)
+
+    // The next move doesn't contain the lifted pointer, `addMovement` switches to the remaining one.
+    estimator.activePointerId = 1
+    estimator.move(30_000, 1 to 130f)
+
+    assertNearByFraction(1000f, estimator.velocityFor(VelocityEstimator.Strategy.LEAST_SQUARES))
+  }
+}
@@ -0,0 +1,121 @@
+import { DeviceEventEmitter } from 'react-native';
+
+import type { GestureUpdateEvent } from '../handlers/gestureHandlerCommon';
+import {
+  startListening,
+  stopListening,
+} from '../handlers/gestures/eventReceiver';
+import { State } from '../State';
+
+const mockGestures = new Map<number, unknown>();
+const mockOldHandlers = new Map<number, unknown>();
+
+jest.mock('../handlers/handlersRegistry', () => ({
+  findHandler: (handlerTag: number) => mockGestures.get(handlerTag),
+  findOldGestureHandler: (handlerTag: number) =>
+    mockOldHandlers.get(handlerTag),
+}));
+
+function createGesture(handlerTag: number) {
+  const gesture = {
+    handlers: {
+      handlerTag,
+      onUpdate: jest.fn(),
+      onChange: jest.fn(),
+      changeEventCalculator: jest.fn(
+        (current: GestureUpdateEvent, previous?: GestureUpdateEvent) => ({
+          ...current,
+          previous,
+        })
+      ),
+    },
+  };
+  mockGestures.set(handlerTag, gesture);
+  return gesture.handlers;
+}
+
+function updateEvent(handlerTag: number, x: number) {
+  return {
+    handlerTag,
+    numberOfPointers: 1,
+    state: State.ACTIVE,
+    pointerType: 0,
+    x,
+  } as GestureUpdateEvent;
+}
+
+function emitBatch(events: GestureUpdateEvent[]) {
+  DeviceEventEmitter.emit('onGestureHandlerEventBatch', { events });
+}
+
+describe('batched update events', () => {
+  beforeEach(() => {
+    startListening();
+  });
+
+  afterEach(() => {
+    stopListening();
+    mockGestures.clear();
+    mockOldHandlers.clear();
+  });
+
+  test('are delivered to the handlers they belong to, in order', () => {
+    const first = createGesture(1);
+    const second = createGesture(2);
+    const events = [updateEvent(1, 10), updateEvent(2, 20), updateEvent(1, 30)];
+
+    emitBatch(events);
+
+    expect(first.onUpdate.mock.calls).toEqual([[events[0]], [events[2]]]);
+    expect(second.onUpdate.mock.calls).toEqual([[events[1]]]);
+  });
+
+  test('compute changes from the previous update of each handler', () => {
+    // The last update is kept per handler tag, so fresh tags are used here.
+    const first = createGesture(5);
+    createGesture(6);
+    const events = [updateEvent(5, 10), updateEvent(6, 20), updateEvent(5, 30)];
+
+    emitBatch(events);
+
+    expect(first.changeEventCalculator.mock.calls).toEqual([
+      [events[0], undefined],
+      [events[2], events[0]],
+    ]);
+  });
+
+  test('are delivered to handlers of the old API', () => {
+    const oldHandler = {
+      onGestureEvent: jest.fn(),
+      onGestureStateChange: jest.fn(),
+    };
+    mockOldHandlers.set(3, oldHandler);
+    const events = [updateEvent(3, 10), updateEvent(3, 20)];
+
+    emitBatch(events);
+
+    expect(oldHandler.onGestureEvent.mock.calls).toEqual([
+      [{ nativeEvent: events[0] }],
+      [{ nativeEvent: events[1] }],
+    ]);
+    expect(oldHandler.onGestureStateChange).not.toHaveBeenCalled();
+  });
+
+  test('skip events of unknown handlers', () => {
+    const first = createGesture(1);
+    const events = [updateEvent(4, 10), updateEvent(1, 20)];
+
+    emitBatch(events);
+
+    expect(first.onUpdate.mock.calls).toEqual([[events[1]]]);
+  });
+
+  test('are not delivered after listening stops', () => {
+    const first = createGesture(1);
+
+    stopListening();
+    emitBatch([updateEvent(1, 10)]);
+
+    expect(first.onUpdate).not.toHaveBeenCalled();
+  });
+});
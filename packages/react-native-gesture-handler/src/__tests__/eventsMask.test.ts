@@ -0,0 +1,58 @@
+import { EventsMask, getEventsMask } from '../v3/hooks/utils/eventUtils';
+import type { BaseGestureConfig } from '../v3/types';
+
+function maskFor(config: Record<string, unknown>) {
+  return getEventsMask(config as BaseGestureConfig<unknown, unknown, unknown>);
+}
+
+const noop = () => {};
+
+describe('getEventsMask', () => {
+  test('requests no events when there are no callbacks', () => {
+    expect(maskFor({})).toBe(0);
+  });
+
+  test.each(['onBegin', 'onActivate', 'onDeactivate', 'onFinalize'])(
+    'requests only state changes for %s',
+    (callback) => {
+      expect(maskFor({ [callback]: noop })).toBe(EventsMask.STATE_CHANGE);
+    }
+  );
+
+  test('requests state changes together with updates for onUpdate', () => {
+    // State changes reset the previous update used to calculate changes.
+    expect(maskFor({ onUpdate: noop })).toBe(
+      EventsMask.STATE_CHANGE | EventsMask.UPDATE
+    );
+  });
+
+  test('requests only updates for Animated events', () => {
+    expect(maskFor({ dispatchesAnimatedEvents: true })).toBe(EventsMask.UPDATE);
+    expect(maskFor({ dispatchesAnimatedEvents: false })).toBe(0);
+  });
+
+  test('combines state change callbacks with Animated events', () => {
+    expect(
+      maskFor({
+        onBegin: noop,
+        onFinalize: noop,
+        dispatchesAnimatedEvents: true,
+      })
+    ).toBe(EventsMask.STATE_CHANGE | EventsMask.UPDATE);
+  });
+
+  test('ignores touch callbacks', () => {
+    expect(
+      maskFor({
+        onTouchesDown: noop,
+        onTouchesMove: noop,
+        onTouchesUp: noop,
+        onTouchesCancel: noop,
+      })
+    ).toBe(0);
+  });
+
+  test('ignores callbacks which are explicitly unset', () => {
+    expect(maskFor({ onUpdate: undefined, onBegin: undefined })).toBe(0);
+  });
+});
@@ -1,11 +1,15 @@
 import createHandler from './createHandler';
-import type { BaseGestureHandlerProps } from './gestureHandlerCommon';
+import type {
+  BaseGestureHandlerProps,
+  VelocityStrategy,
+} from './gestureHandlerCommon';
 import { baseGestureHandlerProps } from './gestureHandlerCommon';
 import type { FlingGestureHandlerEventPayload } from './GestureHandlerEventPayload';
 
 export const flingGestureHandlerProps = [
   'numberOfPointers',
   'direction',
+  'velocityStrategy',
 ] as const;
 
 export interface FlingGestureConfig {
@@ -29,6 +33,11 @@ export interface FlingGestureConfig {
    * Determine exact number of points required to handle the fling gesture.
    */
   numberOfPointers?: number;
+
+  /**
+   * Android only. Method used to estimate velocity of the pointer.
+   */
+  velocityStrategy?: VelocityStrategy;
 }
 
 /**
@@ -5,6 +5,18 @@ export type FlingGestureHandlerEventPayload = {
   y: number;
   absoluteX: number;
   absoluteY: number;
+
+  /**
+   * Direction in which the fling was recognized, one of `Directions` or `DiagonalDirections`.
+   * Available only on Android.
+   */
+  direction?: number;
+
+  /**
+   * Velocity of the fling at the moment it was recognized, expressed in point units per second.
+   * Available only on Android.
+   */
+  velocity?: number;
 };
 
 /**
@@ -1,5 +1,8 @@
 import createHandler from './createHandler';
-import type { BaseGestureHandlerProps } from './gestureHandlerCommon';
+import type {
+  BaseGestureHandlerProps,
+  VelocityStrategy,
+} from './gestureHandlerCommon';
 import { baseGestureHandlerProps } from './gestureHandlerCommon';
 import type { PanGestureHandlerEventPayload } from './GestureHandlerEventPayload';
 
@@ -17,6 +20,7 @@ export const panGestureHandlerProps = [
   'avgTouches',
   'enableTrackpadTwoFingerGesture',
   'activateAfterLongPress',
+  'velocityStrategy',
 ] as const;
 
 export const panGestureHandlerCustomNativeProps = [
@@ -82,6 +86,11 @@ interface CommonPanProperties {
   minVelocityY?: number;
 
   activateAfterLongPress?: number;
+
+  /**
+   * Android only. Method used to estimate velocity of the pointer.
+   */
+  velocityStrategy?: VelocityStrategy;
 }
 
 export interface PanGestureConfig extends CommonPanProperties {
@@ -110,6 +110,17 @@ export type ActiveCursor =
   | 'zoom-in'
   | 'zoom-out';
 
+/**
+ * Method used to estimate velocity of the pointer on Android. `leastSquares` is
+ * the platform default, `impulse` reacts faster to sudden changes of direction
+ * and `exponentialSmoothing` is the least sensitive to jitter of high frequency
+ * input.
+ */
+export type VelocityStrategy =
+  | 'leastSquares'
+  | 'impulse'
+  | 'exponentialSmoothing';
+
 export enum MouseButton {
   LEFT = 1,
   RIGHT = 2,
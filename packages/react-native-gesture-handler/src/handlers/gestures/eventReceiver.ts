@@ -16,6 +16,7 @@ import { GestureStateManager } from './gestureStateManager';
 let gestureHandlerEventSubscription: EmitterSubscription | null = null;
 let gestureHandlerStateChangeEventSubscription: EmitterSubscription | null =
   null;
+let gestureHandlerEventBatchSubscription: EmitterSubscription | null = null;
 
 const gestureStateManagers: Map<number, GestureStateManagerType> = new Map<
   number,
@@ -128,6 +129,13 @@ export function onGestureHandlerEvent(
   }
 }
 
+// Update events emitted together once per frame, when batching is enabled on Android
+function onGestureHandlerEventBatch(batch: { events: GestureUpdateEvent[] }) {
+  for (const event of batch.events) {
+    onGestureHandlerEvent(event);
+  }
+}
+
 export function startListening() {
   stopListening();
 
@@ -140,6 +148,11 @@ export function startListening() {
     'onGestureHandlerStateChange',
     onGestureHandlerEvent
   );
+
+  gestureHandlerEventBatchSubscription = DeviceEventEmitter.addListener(
+    'onGestureHandlerEventBatch',
+    onGestureHandlerEventBatch
+  );
 }
 
 export function stopListening() {
@@ -152,4 +165,9 @@ export function stopListening() {
     gestureHandlerStateChangeEventSubscription.remove();
     gestureHandlerStateChangeEventSubscription = null;
   }
+
+  if (gestureHandlerEventBatchSubscription) {
+    gestureHandlerEventBatchSubscription.remove();
+    gestureHandlerEventBatchSubscription = null;
+  }
 }
@@ -1,4 +1,5 @@
 import type { FlingGestureConfig } from '../FlingGestureHandler';
+import type { VelocityStrategy } from '../gestureHandlerCommon';
 import type { FlingGestureHandlerEventPayload } from '../GestureHandlerEventPayload';
 import type { BaseGestureConfig } from './gesture';
 import { BaseGesture } from './gesture';
@@ -35,6 +36,16 @@ export class FlingGesture extends BaseGesture<FlingGestureHandlerEventPayload> {
     this.config.direction = direction;
     return this;
   }
+
+  /**
+   * #### Android only
+   * Method used to estimate velocity of the pointer. Defaults to `leastSquares`, the same as the platform `VelocityTracker`.
+   * @param strategy
+   */
+  velocityStrategy(strategy: VelocityStrategy) {
+    this.config.velocityStrategy = strategy;
+    return this;
+  }
 }
 
 /**
@@ -1,4 +1,7 @@
-import type { GestureUpdateEvent } from '../gestureHandlerCommon';
+import type {
+  GestureUpdateEvent,
+  VelocityStrategy,
+} from '../gestureHandlerCommon';
 import type { PanGestureHandlerEventPayload } from '../GestureHandlerEventPayload';
 import type { PanGestureConfig } from '../PanGestureHandler';
 import type { BaseGestureConfig } from './gesture';
@@ -194,6 +197,16 @@ export class PanGesture extends ContinousBaseGesture<
     return this;
   }
 
+  /**
+   * #### Android only
+   * Method used to estimate velocity of the pointer. Defaults to `leastSquares`, the same as the platform `VelocityTracker`.
+   * @param strategy
+   */
+  velocityStrategy(strategy: VelocityStrategy) {
+    this.config.velocityStrategy = strategy;
+    return this;
+  }
+
   /**
    * #### iOS only
    * Enables two-finger gestures on supported devices, for example iPads with trackpads.
@@ -64,6 +64,7 @@ export type {
   HandlerStateChangeEventPayload,
   GestureTouchEvent as SingleGestureTouchEvent,
   TouchData,
+  VelocityStrategy,
 } from './handlers/gestureHandlerCommon';
 export { MouseButton } from './handlers/gestureHandlerCommon';
 export type {
@@ -1,3 +1,4 @@
+import type { VelocityStrategy } from '../../../../handlers/gestureHandlerCommon';
 import type {
   BaseDiscreteGestureConfig,
   ExcludeInternalConfigProps,
@@ -27,17 +28,34 @@ export type FlingGestureNativeProperties = {
    * Determine exact number of points required to handle the fling gesture.
    */
   numberOfPointers?: number;
+
+  /**
+   * Android only. Method used to estimate velocity of the pointer.
+   */
+  velocityStrategy?: VelocityStrategy;
 };
 
 export const FlingNativeProperties = new Set<
   keyof FlingGestureNativeProperties
->(['direction', 'numberOfPointers']);
+>(['direction', 'numberOfPointers', 'velocityStrategy']);
 
 export type FlingHandlerData = {
   x: number;
   y: number;
   absoluteX: number;
   absoluteY: number;
+
+  /**
+   * Direction in which the fling was recognized, one of `Directions` or `DiagonalDirections`.
+   * Available only on Android.
+   */
+  direction?: number;
+
+  /**
+   * Velocity of the fling at the moment it was recognized, expressed in point units per second.
+   * Available only on Android.
+   */
+  velocity?: number;
 };
 
 export type FlingGestureProperties =
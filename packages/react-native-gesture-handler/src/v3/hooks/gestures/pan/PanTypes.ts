@@ -1,4 +1,7 @@
-import type { StylusData } from '../../../../handlers/gestureHandlerCommon';
+import type {
+  StylusData,
+  VelocityStrategy,
+} from '../../../../handlers/gestureHandlerCommon';
 import type {
   BaseGestureConfig,
   ExcludeInternalConfigProps,
@@ -59,6 +62,11 @@ type CommonPanGestureProperties = {
   minVelocityY?: number;
 
   activateAfterLongPress?: number;
+
+  /**
+   * Android only. Method used to estimate velocity of the pointer.
+   */
+  velocityStrategy?: VelocityStrategy;
 };
 
 export type OffsetProps = {
@@ -132,6 +140,7 @@ export const PanNativeProperties = new Set<keyof PanGestureNativeProperties>([
   'minVelocityX',
   'minVelocityY',
   'activateAfterLongPress',
+  'velocityStrategy',
   'activeOffsetYStart',
   'activeOffsetYEnd',
   'activeOffsetXStart',
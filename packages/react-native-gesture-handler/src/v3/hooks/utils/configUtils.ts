@@ -10,7 +10,11 @@ import type {
   Gesture,
   SingleGestureName,
 } from '../../types';
-import { isNativeAnimatedEvent, shouldHandleTouchEvents } from './eventUtils';
+import {
+  getEventsMask,
+  isNativeAnimatedEvent,
+  shouldHandleTouchEvents,
+} from './eventUtils';
 import {
   allowedNativeProps,
   applyProductionTestIDFilter,
@@ -83,6 +87,7 @@ export function resolveInternalConfigProps<
     hasWorkletEventHandlers(config) &&
     !config.dispatchesAnimatedEvents;
   config.needsPointerData = shouldHandleTouchEvents(config);
+  config.eventsMask = getEventsMask(config);
 }
 
 export function prepareConfigForNativeSide<
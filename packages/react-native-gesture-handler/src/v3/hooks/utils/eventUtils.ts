@@ -92,6 +92,38 @@ export function checkMappingForChangeProperties(animatedEvent: AnimatedEvent) {
   }
 }
 
+// Has to be kept in sync with `EVENTS_MASK_*` constants on the native side.
+export const EventsMask = {
+  STATE_CHANGE: 1,
+  UPDATE: 2,
+} as const;
+
+export function getEventsMask<
+  TConfig,
+  THandlerData,
+  TExtendedHandlerData extends THandlerData,
+>(config: BaseGestureConfig<TConfig, THandlerData, TExtendedHandlerData>) {
+  let mask = 0;
+
+  // State changes also reset the last update event used to calculate changes,
+  // so they are needed whenever `onUpdate` is present.
+  if (
+    !!config.onBegin ||
+    !!config.onActivate ||
+    !!config.onDeactivate ||
+    !!config.onFinalize ||
+    !!config.onUpdate
+  ) {
+    mask |= EventsMask.STATE_CHANGE;
+  }
+
+  if (!!config.onUpdate || !!config.dispatchesAnimatedEvents) {
+    mask |= EventsMask.UPDATE;
+  }
+
+  return mask;
+}
+
 export function shouldHandleTouchEvents<
   TConfig,
   THandlerData,
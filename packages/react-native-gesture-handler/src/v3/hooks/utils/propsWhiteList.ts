@@ -44,6 +44,7 @@ export const allowedNativeProps = new Set<
   'touchAction',
   'dispatchesAnimatedEvents',
   'needsPointerData',
+  'eventsMask',
 ]);
 
 export const HandlerCallbacks = new Set<
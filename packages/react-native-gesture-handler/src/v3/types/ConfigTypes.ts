@@ -54,6 +54,7 @@ export type InternalConfigProps<TExtendedHandlerData> = {
   dispatchesReanimatedEvents?: boolean | undefined;
   dispatchesAnimatedEvents?: boolean | undefined;
   needsPointerData?: boolean | undefined;
+  eventsMask?: number | undefined;
   userSelect?: UserSelect | undefined;
   touchAction?: TouchAction | undefined;
   enableContextMenu?: boolean | undefined;